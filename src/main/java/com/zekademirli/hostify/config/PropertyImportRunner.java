@@ -0,0 +1,60 @@
+package com.zekademirli.hostify.config;
+
+import com.zekademirli.hostify.dto.response.PropertyImportResponse;
+import com.zekademirli.hostify.enums.ImportFormat;
+import com.zekademirli.hostify.services.PropertyImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Command-line import: {@code java -jar hostify.jar --hostify.import.file=chain.csv
+ * --spring.main.web-application-type=none}. Imports the file, logs the summary and exits with status 1 if
+ * any row failed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("hostify.import.file")
+public class PropertyImportRunner implements ApplicationRunner {
+
+    private final PropertyImportService propertyImportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+
+    public PropertyImportRunner(PropertyImportService propertyImportService,
+                                ConfigurableApplicationContext context,
+                                @Value("${hostify.import.file}") Path file) {
+        this.propertyImportService = propertyImportService;
+        this.context = context;
+        this.file = file;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        ImportFormat format = name.endsWith(".jsonl") || name.endsWith(".ndjson") ? ImportFormat.JSONL : ImportFormat.CSV;
+        log.info("Importing properties from {} as {}", file, format);
+
+        PropertyImportResponse result;
+        try (InputStream input = Files.newInputStream(file)) {
+            result = propertyImportService.importProperties(input, format);
+        }
+        result.errors().forEach(error -> log.warn("Line {}: {}", error.line(), error.message()));
+        if (result.failed() > result.errors().size()) {
+            log.warn("{} more failed rows were not listed", result.failed() - result.errors().size());
+        }
+
+        int exitCode = SpringApplication.exit(context, () -> result.failed() == 0 ? 0 : 1);
+        System.exit(exitCode);
+    }
+}
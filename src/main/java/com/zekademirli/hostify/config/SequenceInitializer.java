@@ -0,0 +1,40 @@
+package com.zekademirli.hostify.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Tables that used to be IDENTITY-generated now take ids from pooled sequences. On startup each sequence
+ * is moved past the highest existing id so the first allocated block cannot collide with old rows.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenceInitializer implements SmartInitializingSingleton {
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "reservation_seq", "reservation",
+            "property_seq", "\"property\""
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEQUENCES.forEach((sequence, table) -> {
+            Long value = jdbcTemplate.queryForObject(
+                    "select setval('" + sequence + "', greatest((select coalesce(max(id), 0) from " + table + "), " +
+                            "(select last_value from " + sequence + ")))", Long.class);
+            log.info("Sequence {} aligned to {}", sequence, value);
+        });
+    }
+}
@@ -2,12 +2,14 @@ package com.zekademirli.hostify.controller;
 
 import com.zekademirli.hostify.dto.request.AddCommentRequest;
 import com.zekademirli.hostify.dto.response.AddCommentResponse;
+import com.zekademirli.hostify.dto.response.CommentCountsResponse;
 import com.zekademirli.hostify.dto.response.CommentResponse;
 import com.zekademirli.hostify.dto.response.UserCommentResponse;
 import com.zekademirli.hostify.services.CommentService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/comments")
@@ -29,6 +31,12 @@ public class CommentController {
         return commentService.getAllComments();
     }
 
+    @GetMapping("/counts")
+    public CommentCountsResponse getCommentCounts(@RequestParam(defaultValue = "") Set<Long> postIds,
+                                                  @RequestParam(defaultValue = "") Set<Long> propertyIds) {
+        return commentService.getCommentCounts(postIds, propertyIds);
+    }
+
     @GetMapping("/{commentId}")
     public CommentResponse getOneComment(@PathVariable Long commentId) {
         return commentService.getOneComment(commentId);
@@ -0,0 +1,148 @@
+package com.zekademirli.hostify.controller;
+
+import com.zekademirli.hostify.services.PropertyImageService.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a stored file with a strong ETag and single byte-range support. The body is handed to Tomcat's
+ * sendfile when the connector offers it and otherwise copied with {@link FileChannel#transferTo}, so the bytes
+ * are never pulled through a heap buffer by this class.
+ */
+final class FileRangeWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+
+    private FileRangeWriter() {
+    }
+
+    static void write(HttpServletRequest request, HttpServletResponse response, StoredImage image) throws IOException {
+        String etag = "\"" + image.sha256() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, image.immutable() ? IMMUTABLE : REVALIDATE);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            long size = file.size();
+            long start = 0;
+            long end = size - 1;
+
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            // a Range conditioned on a different representation is ignored and the full file is sent
+            if (range != null && (ifRange == null || ifRange.trim().equals(etag))) {
+                long[] bounds = parseRange(range, size);
+                if (bounds == null) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                if (bounds.length == 2) {
+                    start = bounds[0];
+                    end = bounds[1];
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            }
+
+            long length = end - start + 1;
+            response.setContentType(image.contentType());
+            response.setContentLengthLong(length);
+            if ("HEAD".equals(request.getMethod()) || length <= 0) {
+                return;
+            }
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, image.path().toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            response.flushBuffer();
+        } catch (NoSuchFileException e) {
+            response.reset();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Image file is missing");
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a single {@code bytes=} range against the file size. Returns {@code {start, end}} inclusive, an
+     * empty array when the header should be ignored (malformed or several ranges), or null when unsatisfiable.
+     */
+    private static long[] parseRange(String header, long size) {
+        String value = header.trim();
+        if (!value.startsWith("bytes=") || value.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = value.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return new long[0];
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (start >= size) {
+                return null;
+            }
+            return start <= end ? new long[]{start, end} : new long[0];
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.zekademirli.hostify.controller;
 
 import com.zekademirli.hostify.dto.response.AddPostResponse;
+import com.zekademirli.hostify.dto.response.CursorPage;
+import com.zekademirli.hostify.dto.response.PostFeedResponse;
 import com.zekademirli.hostify.dto.response.PostResponse;
 import com.zekademirli.hostify.dto.response.UpdatePostResponse;
 import com.zekademirli.hostify.services.PostService;
@@ -34,6 +36,12 @@ public class PostController {
         return postService.updatePost(userId, postId, propertyId);
     }
 
+    @GetMapping("/feed")
+    public CursorPage<PostFeedResponse> getFeed(@RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size) {
+        return postService.getFeed(cursor, size);
+    }
+
     @GetMapping("/{postId}")
     public PostResponse getPostById(@PathVariable @NotNull @Positive Long postId) {
         return postService.getOnePostById(postId);
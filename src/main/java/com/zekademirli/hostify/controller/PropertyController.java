@@ -2,9 +2,27 @@ package com.zekademirli.hostify.controller;
 
 import com.zekademirli.hostify.dto.request.AddPropertyRequest;
 import com.zekademirli.hostify.dto.request.UpdatePropertyRequest;
+import com.zekademirli.hostify.dto.response.AvailabilityCalendarResponse;
+import com.zekademirli.hostify.dto.response.CursorPage;
+import com.zekademirli.hostify.dto.response.NearbyPropertyResponse;
+import com.zekademirli.hostify.dto.response.PriceQuoteResponse;
+import com.zekademirli.hostify.dto.response.PropertyFacetsResponse;
+import com.zekademirli.hostify.dto.response.PropertyImportResponse;
 import com.zekademirli.hostify.dto.response.PropertyResponse;
+import com.zekademirli.hostify.dto.response.PurgeStatusResponse;
+import com.zekademirli.hostify.enums.ImportFormat;
+import com.zekademirli.hostify.enums.PurgeTarget;
 import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.services.PricingEngine;
+import com.zekademirli.hostify.services.PropertyAvailabilityService;
+import com.zekademirli.hostify.services.PropertyExportService;
+import com.zekademirli.hostify.services.PropertyFacetService;
+import com.zekademirli.hostify.services.PropertyGeoService;
+import com.zekademirli.hostify.services.PropertyImportService;
+import com.zekademirli.hostify.services.PropertySearchService;
 import com.zekademirli.hostify.services.PropertyService;
+import com.zekademirli.hostify.services.PurgeService;
+import com.zekademirli.hostify.services.ResourceVersion;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -12,11 +30,19 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -26,6 +52,14 @@ import java.util.List;
 public class PropertyController {
 
     private final PropertyService propertyService;
+    private final PropertyAvailabilityService propertyAvailabilityService;
+    private final PricingEngine pricingEngine;
+    private final PropertyExportService propertyExportService;
+    private final PropertySearchService propertySearchService;
+    private final PropertyGeoService propertyGeoService;
+    private final PropertyFacetService propertyFacetService;
+    private final PropertyImportService propertyImportService;
+    private final PurgeService purgeService;
 
     @PostMapping
     public ResponseEntity<PropertyResponse> addProperty(@Valid @RequestBody AddPropertyRequest request) {
@@ -34,17 +68,61 @@ public class PropertyController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PropertyResponse> getPropertyById(@PathVariable @Positive Long id) {
-        PropertyResponse response = propertyService.getPropertyById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PropertyResponse> getPropertyById(@PathVariable @Positive Long id, WebRequest webRequest) {
+        PropertyService.PropertyDetail detail = propertyService.getPropertyById(id);
+        ResourceVersion version = detail.version();
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(version.etag()).lastModified(version.lastModified()).body(detail.response());
     }
 
     @GetMapping
-    public ResponseEntity<List<PropertyResponse>> getAllProperties() {
-        List<PropertyResponse> properties = propertyService.getAllProperties();
+    public ResponseEntity<CursorPage<PropertyResponse>> getProperties(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String sort) {
+        CursorPage<PropertyResponse> properties = propertyService.getProperties(cursor, size, minPrice, maxPrice, sort);
         return ResponseEntity.ok(properties);
     }
 
+    @GetMapping("/facets")
+    public ResponseEntity<PropertyFacetsResponse> getFacets() {
+        return ResponseEntity.ok(propertyFacetService.getFacets());
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<Long> countProperties(
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice) {
+        return ResponseEntity.ok(propertyService.countPropertiesInPriceRange(minPrice, maxPrice));
+    }
+
+    @GetMapping("/cheapest")
+    public ResponseEntity<List<PropertyResponse>> getCheapestProperties(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(propertyService.getCheapestProperties(limit));
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/jsonl"})
+    public ResponseEntity<PropertyImportResponse> importProperties(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        ImportFormat format = contentType.startsWith("text/csv") ? ImportFormat.CSV : ImportFormat.JSONL;
+        PropertyImportResponse response = propertyImportService.importProperties(body, format);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportProperties() {
+        StreamingResponseBody body = propertyExportService::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<PropertyResponse> updateProperty(
             @PathVariable @Positive Long id,
@@ -54,9 +132,14 @@ public class PropertyController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteProperty(@PathVariable @Positive Long id) {
+    public ResponseEntity<PurgeStatusResponse> deleteProperty(@PathVariable @Positive Long id) {
         propertyService.deleteProperty(id);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.accepted().body(purgeService.getStatus(PurgeTarget.PROPERTY, id));
+    }
+
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<PurgeStatusResponse> getDeletionStatus(@PathVariable @Positive Long id) {
+        return ResponseEntity.ok(purgeService.getStatus(PurgeTarget.PROPERTY, id));
     }
 
     @GetMapping("/owner/{ownerId}")
@@ -80,4 +163,97 @@ public class PropertyController {
         Page<PropertyResponse> properties = propertyService.getPropertiesByCategory(category, pageable);
         return ResponseEntity.ok(properties);
     }
+
+    @GetMapping("/available")
+    public ResponseEntity<Page<PropertyResponse>> getAvailableProperties(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) Integer guests,
+            @RequestParam(required = false) RoomCategory category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Pageable pageable = PageRequest.of(page, size);
+        Page<PropertyResponse> properties = propertyAvailabilityService.findAvailableProperties(
+                checkIn, checkOut, guests, category, pageable);
+        return ResponseEntity.ok(properties);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<PropertyResponse>> searchProperties(
+            @RequestParam String q,
+            @RequestParam(required = false) RoomCategory category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Pageable pageable = PageRequest.of(page, size);
+        Page<PropertyResponse> properties = propertySearchService.search(q, category, minPrice, maxPrice, pageable);
+        return ResponseEntity.ok(properties);
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyPropertyResponse>> getNearbyProperties(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) RoomCategory category,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        List<NearbyPropertyResponse> properties = propertyGeoService.findNearby(
+                latitude, longitude, radiusKm, category, limit);
+        return ResponseEntity.ok(properties);
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<List<PropertyResponse>> getPropertiesWithinBox(
+            @RequestParam Double minLatitude,
+            @RequestParam Double minLongitude,
+            @RequestParam Double maxLatitude,
+            @RequestParam Double maxLongitude,
+            @RequestParam(required = false) RoomCategory category,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        List<PropertyResponse> properties = propertyGeoService.findWithinBox(
+                minLatitude, minLongitude, maxLatitude, maxLongitude, category, limit);
+        return ResponseEntity.ok(properties);
+    }
+
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<AvailabilityCalendarResponse> getCalendar(
+            @PathVariable @Positive Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "runs") String format,
+            WebRequest webRequest) {
+
+        PropertyAvailabilityService.CalendarView view = propertyAvailabilityService.getCalendar(id, from, to);
+        if (webRequest.checkNotModified(view.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(view.etag()).build();
+        }
+        AvailabilityCalendarResponse response = propertyAvailabilityService.toCalendarResponse(
+                id, from, to, view, "bitmap".equalsIgnoreCase(format));
+        return ResponseEntity.ok().eTag(view.etag()).body(response);
+    }
+
+    @GetMapping("/{id}/quote")
+    public ResponseEntity<PriceQuoteResponse> getQuote(
+            @PathVariable @Positive Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+
+        PricingEngine.Quote quote = pricingEngine.quote(id, checkIn, checkOut);
+        PriceQuoteResponse response = PriceQuoteResponse.builder()
+                .propertyId(id)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .nights(quote.nights())
+                .nightsTotal(BigDecimal.valueOf(quote.nightsTotalMinor(), 2))
+                .discount(BigDecimal.valueOf(quote.discountMinor(), 2))
+                .serviceFee(BigDecimal.valueOf(quote.serviceFeeMinor(), 2))
+                .total(BigDecimal.valueOf(quote.totalMinor(), 2))
+                .build();
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.zekademirli.hostify.controller;
+
+import com.zekademirli.hostify.dto.response.PropertyImageResponse;
+import com.zekademirli.hostify.services.PropertyImageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/properties/{propertyId}/images")
+@RequiredArgsConstructor
+@Validated
+public class PropertyImageController {
+
+    private final PropertyImageService propertyImageService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<PropertyImageResponse> uploadImage(
+            @PathVariable @Positive Long propertyId,
+            @RequestParam @NotNull Long ownerId,
+            @RequestParam("file") MultipartFile file) {
+        PropertyImageResponse response = propertyImageService.upload(propertyId, ownerId, file);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PropertyImageResponse>> getImages(@PathVariable @Positive Long propertyId) {
+        List<PropertyImageResponse> images = propertyImageService.getImages(propertyId);
+        return ResponseEntity.ok(images);
+    }
+
+    @GetMapping("/{imageId}")
+    public void getImage(@PathVariable @Positive Long propertyId,
+                         @PathVariable @Positive Long imageId,
+                         @RequestParam(defaultValue = "original") String variant,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        FileRangeWriter.write(request, response, propertyImageService.getImageFile(propertyId, imageId, variant));
+    }
+}
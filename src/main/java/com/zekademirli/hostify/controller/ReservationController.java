@@ -1,17 +1,26 @@
 package com.zekademirli.hostify.controller;
 
+import com.zekademirli.hostify.dto.request.BatchReservationRequest;
+import com.zekademirli.hostify.dto.response.BatchReservationResponse;
+import com.zekademirli.hostify.dto.response.CursorPage;
 import com.zekademirli.hostify.dto.response.ReservationResponse;
+import com.zekademirli.hostify.enums.BatchMode;
+import com.zekademirli.hostify.services.IdempotencyService;
 import com.zekademirli.hostify.services.ReservationService;
+import com.zekademirli.hostify.services.ResourceVersion;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -19,15 +28,31 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     public ResponseEntity<ReservationResponse> createReservation(
             @RequestParam Long userId,
             @RequestParam Long propertyId,
             @RequestParam String checkIn,
-            @RequestParam String checkOut
+            @RequestParam String checkOut,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        ReservationResponse response = reservationService.createReservation(userId, propertyId, checkIn, checkOut);
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(reservationService.createReservation(userId, propertyId, checkIn, checkOut));
+        }
+        String requestHash = userId + "|" + propertyId + "|" + checkIn + "|" + checkOut;
+        ReservationResponse response = idempotencyService.execute(idempotencyKey, requestHash,
+                () -> reservationService.createReservation(userId, propertyId, checkIn, checkOut));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchReservationResponse> createReservations(@RequestBody BatchReservationRequest request) {
+        BatchReservationResponse response = reservationService.createReservations(request);
+        if (response.mode() == BatchMode.ALL_OR_NOTHING && !response.errors().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
         return ResponseEntity.ok(response);
     }
 
@@ -50,26 +75,68 @@ public class ReservationController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<List<ReservationResponse>> getReservationsByUser(@PathVariable Long userId) {
-        List<ReservationResponse> responses = reservationService.getReservationsByUser(userId);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<ReservationResponse>> getReservationsByUser(@PathVariable Long userId,
+                                                                           WebRequest webRequest) {
+        ResourceVersion version = reservationService.getUserReservationsVersion(userId);
+        return conditional(webRequest, version, () -> reservationService.getReservationsByUser(userId));
     }
 
     @GetMapping("/get-property-reservation/{propertyId}")
     public ResponseEntity<List<ReservationResponse>> getReservationsByProperty(
             @PathVariable Long propertyId,
-            @RequestParam Long hostId
+            @RequestParam Long hostId,
+            WebRequest webRequest
+    ) {
+        ResourceVersion version = reservationService.getPropertyReservationsVersion(propertyId, hostId);
+        return conditional(webRequest, version, () -> reservationService.getReservationsByProperty(propertyId, hostId));
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<CursorPage<ReservationResponse>> getReservationPageByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
     ) {
-        List<ReservationResponse> responses = reservationService.getReservationsByProperty(propertyId, hostId);
-        return ResponseEntity.ok(responses);
+        ResourceVersion version = reservationService.getUserReservationsVersion(userId)
+                .withVariant("page|" + cursor + "|" + size);
+        return conditional(webRequest, version, () -> reservationService.getReservationsByUser(userId, cursor, size));
+    }
+
+    @GetMapping("/property/{propertyId}")
+    public ResponseEntity<CursorPage<ReservationResponse>> getReservationPageByProperty(
+            @PathVariable Long propertyId,
+            @RequestParam Long hostId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
+    ) {
+        ResourceVersion version = reservationService.getPropertyReservationsVersion(propertyId, hostId)
+                .withVariant("page|" + cursor + "|" + size);
+        return conditional(webRequest, version,
+                () -> reservationService.getReservationsByProperty(propertyId, hostId, cursor, size));
     }
 
     @GetMapping("/property/{propertyId}/is-active")
     public ResponseEntity<List<ReservationResponse>> getActiveReservationsByProperty(
-            @PathVariable Long propertyId
+            @PathVariable Long propertyId,
+            WebRequest webRequest
     ) {
-        List<ReservationResponse> responses = reservationService.getActiveReservationsByProperty(propertyId);
-        return ResponseEntity.ok(responses);
+        ResourceVersion version = reservationService.getPropertyReservationsVersion(propertyId, null)
+                .withVariant("active");
+        return conditional(webRequest, version, () -> reservationService.getActiveReservationsByProperty(propertyId));
+    }
+
+    // answers 304 from the version alone; the list is only loaded and serialized when it changed
+    private static <T> ResponseEntity<T> conditional(WebRequest webRequest, ResourceVersion version, Supplier<T> body) {
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(version.etag());
+        if (version.lastModified() >= 0) {
+            response.lastModified(version.lastModified());
+        }
+        return response.body(body.get());
     }
 }
 
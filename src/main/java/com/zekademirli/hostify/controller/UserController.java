@@ -1,7 +1,10 @@
 package com.zekademirli.hostify.controller;
 
 import com.zekademirli.hostify.dto.request.UserRequest;
+import com.zekademirli.hostify.dto.response.PurgeStatusResponse;
 import com.zekademirli.hostify.dto.response.UserResponse;
+import com.zekademirli.hostify.enums.PurgeTarget;
+import com.zekademirli.hostify.services.PurgeService;
 import com.zekademirli.hostify.services.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,9 +14,11 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final PurgeService purgeService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, PurgeService purgeService) {
         this.userService = userService;
+        this.purgeService = purgeService;
     }
 
     @PostMapping("/register")
@@ -32,8 +37,13 @@ public class UserController {
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<UserResponse> deleteUser(@PathVariable Long userId) {
+    public ResponseEntity<PurgeStatusResponse> deleteUser(@PathVariable Long userId) {
         userService.deleteUser(userId);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.accepted().body(purgeService.getStatus(PurgeTarget.USER, userId));
+    }
+
+    @GetMapping("/{userId}/deletion")
+    public ResponseEntity<PurgeStatusResponse> getDeletionStatus(@PathVariable Long userId) {
+        return ResponseEntity.ok(purgeService.getStatus(PurgeTarget.USER, userId));
     }
 }
\ No newline at end of file
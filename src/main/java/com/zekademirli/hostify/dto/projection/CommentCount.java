@@ -0,0 +1,4 @@
+package com.zekademirli.hostify.dto.projection;
+
+public record CommentCount(Long id, Long count) {
+}
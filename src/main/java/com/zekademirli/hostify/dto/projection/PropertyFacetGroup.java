@@ -0,0 +1,6 @@
+package com.zekademirli.hostify.dto.projection;
+
+import com.zekademirli.hostify.enums.RoomCategory;
+
+public record PropertyFacetGroup(RoomCategory category, Double pricePerNight, Integer maxGuests, Long count) {
+}
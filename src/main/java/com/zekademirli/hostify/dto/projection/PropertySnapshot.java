@@ -0,0 +1,43 @@
+package com.zekademirli.hostify.dto.projection;
+
+import com.zekademirli.hostify.entities.Property;
+import com.zekademirli.hostify.enums.RoomCategory;
+
+public record PropertySnapshot(
+        Long id,
+        Long ownerId,
+        String name,
+        String description,
+        String address,
+        Double pricePerNight,
+        Integer maxGuests,
+        RoomCategory category,
+        Boolean active,
+        Double latitude,
+        Double longitude) {
+
+    public boolean isActive() {
+        return Boolean.TRUE.equals(active);
+    }
+
+    public PropertySnapshot deactivated() {
+        return new PropertySnapshot(id, ownerId, name, description, address, pricePerNight, maxGuests, category,
+                false, latitude, longitude);
+    }
+
+    public static PropertySnapshot of(Property property) {
+        return new PropertySnapshot(
+                property.getId(),
+                property.getOwner().getId(),
+                property.getName(),
+                property.getDescription(),
+                property.getAddress(),
+                property.getPricePerNight(),
+                property.getMaxGuests(),
+                property.getCategory(),
+                property.getIsActive(),
+                property.getLatitude(),
+                property.getLongitude()
+        );
+    }
+}
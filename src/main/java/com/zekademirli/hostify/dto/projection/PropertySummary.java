@@ -0,0 +1,13 @@
+package com.zekademirli.hostify.dto.projection;
+
+import com.zekademirli.hostify.enums.RoomCategory;
+
+public record PropertySummary(
+        Long id,
+        Long ownerId,
+        String name,
+        Double pricePerNight,
+        Integer maxGuests,
+        RoomCategory category,
+        Boolean active) {
+}
@@ -0,0 +1,28 @@
+package com.zekademirli.hostify.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate over a set of reservations that changes whenever any row in it is added, removed or updated,
+ * including an update to a property or user shown in the rows.
+ */
+public record ReservationFingerprint(Long count,
+                                     Long idSum,
+                                     Long maxId,
+                                     Long versionSum,
+                                     Long propertyVersionSum,
+                                     Long userVersionSum,
+                                     LocalDateTime lastUpdated,
+                                     LocalDateTime propertyLastUpdated) {
+
+    /**
+     * Latest change to a reservation or property in the set. The user row only keeps a date, so user edits
+     * are carried by the version sums alone.
+     */
+    public LocalDateTime lastModified() {
+        if (lastUpdated == null || propertyLastUpdated == null) {
+            return lastUpdated != null ? lastUpdated : propertyLastUpdated;
+        }
+        return lastUpdated.isAfter(propertyLastUpdated) ? lastUpdated : propertyLastUpdated;
+    }
+}
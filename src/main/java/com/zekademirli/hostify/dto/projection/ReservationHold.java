@@ -0,0 +1,6 @@
+package com.zekademirli.hostify.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record ReservationHold(Long id, Long propertyId, LocalDateTime createdAt) {
+}
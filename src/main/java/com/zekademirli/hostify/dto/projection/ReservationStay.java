@@ -0,0 +1,6 @@
+package com.zekademirli.hostify.dto.projection;
+
+import java.time.LocalDate;
+
+public record ReservationStay(Long id, Long propertyId, LocalDate checkInDate, LocalDate checkOutDate) {
+}
@@ -0,0 +1,22 @@
+package com.zekademirli.hostify.dto.projection;
+
+import com.zekademirli.hostify.enums.ReservationStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record ReservationView(
+        Long id,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Double totalPrice,
+        ReservationStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long userId,
+        String username,
+        String email,
+        Long propertyId,
+        String propertyName,
+        Double pricePerNight) {
+}
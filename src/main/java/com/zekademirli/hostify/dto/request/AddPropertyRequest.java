@@ -9,5 +9,7 @@ public record  AddPropertyRequest(
      String address,
      Double pricePerNight,
      Integer maxGuest,
-     Long ownerId
+     Long ownerId,
+     Double latitude,
+     Double longitude
 ){}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.zekademirli.hostify.dto.request;
+
+import com.zekademirli.hostify.enums.BatchMode;
+
+import java.util.List;
+
+public record BatchReservationRequest(BatchMode mode, List<Stay> stays) {
+
+    public record Stay(Long userId, Long propertyId, String checkIn, String checkOut) {
+    }
+}
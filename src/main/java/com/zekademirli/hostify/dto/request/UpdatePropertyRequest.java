@@ -12,4 +12,6 @@ public class UpdatePropertyRequest {
     private Double pricePerNight;
     private Integer maxGuest;
     private Long ownerId;
+    private Double latitude;
+    private Double longitude;
 }
\ No newline at end of file
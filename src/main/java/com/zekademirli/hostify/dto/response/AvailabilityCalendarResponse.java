@@ -0,0 +1,21 @@
+package com.zekademirli.hostify.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * Booked nights of a property between {@code from} (inclusive) and {@code to} (exclusive).
+ * {@code bookedRuns} holds flattened {@code [offset, nights]} pairs relative to {@code from};
+ * {@code bitmap} is the base64 little-endian bitmask where bit {@code i} is the night {@code from + i}.
+ */
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AvailabilityCalendarResponse(
+        Long propertyId,
+        LocalDate from,
+        LocalDate to,
+        int[] bookedRuns,
+        String bitmap) {
+}
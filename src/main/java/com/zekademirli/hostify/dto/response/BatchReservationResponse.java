@@ -0,0 +1,14 @@
+package com.zekademirli.hostify.dto.response;
+
+import com.zekademirli.hostify.enums.BatchMode;
+
+import java.util.List;
+
+public record BatchReservationResponse(
+        BatchMode mode,
+        List<ReservationResponse> created,
+        List<ItemError> errors) {
+
+    public record ItemError(int index, String message) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.zekademirli.hostify.dto.response;
+
+import java.util.Map;
+
+public record CommentCountsResponse(Map<Long, Long> posts, Map<Long, Long> properties) {
+}
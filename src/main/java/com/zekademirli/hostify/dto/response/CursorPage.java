@@ -0,0 +1,10 @@
+package com.zekademirli.hostify.dto.response;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasNext) {
+
+    public static <T> CursorPage<T> of(List<T> items, String nextCursor) {
+        return new CursorPage<>(items, nextCursor, nextCursor != null);
+    }
+}
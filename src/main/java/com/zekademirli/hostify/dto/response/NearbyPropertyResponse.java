@@ -0,0 +1,4 @@
+package com.zekademirli.hostify.dto.response;
+
+public record NearbyPropertyResponse(PropertyResponse property, double distanceKm) {
+}
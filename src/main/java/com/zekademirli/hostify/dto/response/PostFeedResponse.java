@@ -0,0 +1,22 @@
+package com.zekademirli.hostify.dto.response;
+
+import java.time.LocalDateTime;
+
+public record PostFeedResponse(
+        Long id,
+        Long userId,
+        String username,
+        Long propertyId,
+        String propertyName,
+        LocalDateTime createdAt,
+        long commentCount) {
+
+    public PostFeedResponse(Long id, Long userId, String username, Long propertyId, String propertyName,
+                            LocalDateTime createdAt) {
+        this(id, userId, username, propertyId, propertyName, createdAt, 0);
+    }
+
+    public PostFeedResponse withCommentCount(long count) {
+        return new PostFeedResponse(id, userId, username, propertyId, propertyName, createdAt, count);
+    }
+}
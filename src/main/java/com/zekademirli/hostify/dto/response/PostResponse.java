@@ -1,4 +1,12 @@
 package com.zekademirli.hostify.dto.response;
 
-public record PostResponse(Long id, String username, String propertyName, Long propertyId) {
+public record PostResponse(Long id, String username, String propertyName, Long propertyId, long commentCount) {
+
+    public PostResponse(Long id, String username, String propertyName, Long propertyId) {
+        this(id, username, propertyName, propertyId, 0);
+    }
+
+    public PostResponse withCommentCount(long count) {
+        return new PostResponse(id, username, propertyName, propertyId, count);
+    }
 }
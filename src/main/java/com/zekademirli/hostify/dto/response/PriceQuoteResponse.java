@@ -0,0 +1,18 @@
+package com.zekademirli.hostify.dto.response;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record PriceQuoteResponse(
+        Long propertyId,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        int nights,
+        BigDecimal nightsTotal,
+        BigDecimal discount,
+        BigDecimal serviceFee,
+        BigDecimal total) {
+}
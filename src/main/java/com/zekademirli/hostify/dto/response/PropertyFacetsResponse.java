@@ -0,0 +1,16 @@
+package com.zekademirli.hostify.dto.response;
+
+import com.zekademirli.hostify.enums.RoomCategory;
+
+import java.util.List;
+import java.util.Map;
+
+public record PropertyFacetsResponse(
+        long total,
+        Map<RoomCategory, Long> categories,
+        List<Bucket> prices,
+        List<Bucket> guests) {
+
+    public record Bucket(String label, long count) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.zekademirli.hostify.dto.response;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Builder
+public record PropertyImageResponse(
+        Long id,
+        Long propertyId,
+        String contentType,
+        Long sizeBytes,
+        Integer width,
+        Integer height,
+        boolean variantsReady,
+        Map<String, String> urls,
+        LocalDateTime createdAt) {
+}
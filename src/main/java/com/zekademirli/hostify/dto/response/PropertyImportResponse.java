@@ -0,0 +1,15 @@
+package com.zekademirli.hostify.dto.response;
+
+import java.util.List;
+
+public record PropertyImportResponse(
+        long rows,
+        long imported,
+        long failed,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<RowError> errors) {
+
+    public record RowError(long line, String message) {
+    }
+}
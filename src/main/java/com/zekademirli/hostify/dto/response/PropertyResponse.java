@@ -5,11 +5,20 @@ import lombok.Builder;
 
 @Builder
 public record PropertyResponse(
+        Long id,
         Long ownerId,
         String name,
         String description,
         String address,
         Double pricePerNight,
         Integer maxGuests,
-        RoomCategory category) {
+        RoomCategory category,
+        Double latitude,
+        Double longitude,
+        long commentCount) {
+
+    public PropertyResponse withCommentCount(long count) {
+        return new PropertyResponse(id, ownerId, name, description, address, pricePerNight, maxGuests, category,
+                latitude, longitude, count);
+    }
 }
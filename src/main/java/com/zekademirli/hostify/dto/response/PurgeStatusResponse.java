@@ -0,0 +1,18 @@
+package com.zekademirli.hostify.dto.response;
+
+import com.zekademirli.hostify.enums.PurgeState;
+import com.zekademirli.hostify.enums.PurgeTarget;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record PurgeStatusResponse(
+        PurgeTarget target,
+        Long id,
+        PurgeState state,
+        Map<String, Long> deleted,
+        LocalDateTime requestedAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error) {
+}
@@ -9,7 +9,11 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comment")
+@Table(name = "comment", indexes = {
+        @Index(name = "idx_comment_post", columnList = "post_id, id"),
+        @Index(name = "idx_comment_property", columnList = "property_id, id"),
+        @Index(name = "idx_comment_user", columnList = "user_id, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -12,6 +12,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_post_property", columnList = "property_id, id"),
+        @Index(name = "idx_post_user", columnList = "user_id, id"),
+        @Index(name = "idx_post_created", columnList = "createdAt, id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -22,17 +27,22 @@ public class Post {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "property_id", nullable = false)
     private Property property;
 
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
+    // maintained by CommentCounters with batched increments; never written through the entity
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private Long commentCount;
+
     private LocalDateTime createdAt;
 
     @LastModifiedDate
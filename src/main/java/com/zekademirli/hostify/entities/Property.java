@@ -9,7 +9,11 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "\"property\"")
+@Table(name = "\"property\"", indexes = {
+        @Index(name = "idx_property_owner", columnList = "owner_id, id"),
+        @Index(name = "idx_property_category", columnList = "category, id"),
+        @Index(name = "idx_property_price", columnList = "pricePerNight, id")
+})
 @Getter
 @Setter
 @Builder
@@ -18,7 +22,8 @@ import java.util.Set;
 public class Property {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "property_seq")
+    @SequenceGenerator(name = "property_seq", sequenceName = "property_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -40,6 +45,10 @@ public class Property {
     @Column(nullable = false)
     private RoomCategory category;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
@@ -50,9 +59,24 @@ public class Property {
     @OneToMany(mappedBy = "property", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Post> posts = new HashSet<>();
 
+    @OneToMany(mappedBy = "property", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<PropertyImage> images = new HashSet<>();
+
     @Column(nullable = false)
     private Boolean isActive;
 
+    // set when deletion was requested; the row stays inactive until the background purge removes it
+    private LocalDateTime deletionRequestedAt;
+
+    // maintained by CommentCounters with batched increments; never written through the entity
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private Long commentCount;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
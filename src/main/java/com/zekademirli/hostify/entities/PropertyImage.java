@@ -0,0 +1,73 @@
+package com.zekademirli.hostify.entities;
+
+import com.zekademirli.hostify.enums.ImageVariant;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "property_image", indexes = {
+        @Index(name = "idx_property_image_property", columnList = "property_id, id")
+})
+@Getter
+@Setter
+public class PropertyImage {
+
+    // stored as both variant hashes when the original cannot be decoded, so the sweep stops retrying it
+    public static final String VARIANTS_FAILED = "";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "property_id", nullable = false)
+    private Property property;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long sizeBytes;
+
+    @Column(nullable = false)
+    private Integer width;
+
+    @Column(nullable = false)
+    private Integer height;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(length = 64)
+    private String mediumSha256;
+
+    @Column(length = 64)
+    private String thumbnailSha256;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Hash of the stored variant, or null while it has not been generated yet or could not be generated.
+     */
+    public String sha256Of(ImageVariant variant) {
+        String hash = switch (variant) {
+            case ORIGINAL -> sha256;
+            case MEDIUM -> mediumSha256;
+            case THUMBNAIL -> thumbnailSha256;
+        };
+        return VARIANTS_FAILED.equals(hash) ? null : hash;
+    }
+
+    public boolean hasVariants() {
+        return sha256Of(ImageVariant.MEDIUM) != null && sha256Of(ImageVariant.THUMBNAIL) != null;
+    }
+}
@@ -10,6 +10,7 @@ import lombok.Setter;
 import org.springframework.data.annotation.LastModifiedDate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "\"user\"")
@@ -48,6 +49,9 @@ public class User {
     @NotNull
     private Boolean isActive;
 
+    // set when deletion was requested; the row stays inactive until the background purge removes it
+    private LocalDateTime deletionRequestedAt;
+
     @Column(name = "created_at", updatable = false)
     private LocalDate createdAt;
 
@@ -55,6 +59,11 @@ public class User {
     @Column(name = "updated_at")
     private LocalDate updatedAt;
 
+    // bumped on every update; reservation list ETags include it because the rows show username and email
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDate.now();
@@ -0,0 +1,6 @@
+package com.zekademirli.hostify.enums;
+
+public enum BatchMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
@@ -0,0 +1,6 @@
+package com.zekademirli.hostify.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
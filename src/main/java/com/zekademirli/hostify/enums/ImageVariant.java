@@ -0,0 +1,20 @@
+package com.zekademirli.hostify.enums;
+
+public enum ImageVariant {
+    ORIGINAL(0),
+    MEDIUM(960),
+    THUMBNAIL(320);
+
+    private final int width;
+
+    ImageVariant(int width) {
+        this.width = width;
+    }
+
+    /**
+     * Target width in pixels; 0 for the uploaded file itself.
+     */
+    public int getWidth() {
+        return width;
+    }
+}
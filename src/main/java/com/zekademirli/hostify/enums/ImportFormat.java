@@ -0,0 +1,6 @@
+package com.zekademirli.hostify.enums;
+
+public enum ImportFormat {
+    CSV,
+    JSONL
+}
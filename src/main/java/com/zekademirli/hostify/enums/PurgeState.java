@@ -0,0 +1,8 @@
+package com.zekademirli.hostify.enums;
+
+public enum PurgeState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.zekademirli.hostify.enums;
+
+public enum PurgeTarget {
+    PROPERTY,
+    USER
+}
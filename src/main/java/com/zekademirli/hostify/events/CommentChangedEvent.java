@@ -0,0 +1,8 @@
+package com.zekademirli.hostify.events;
+
+/**
+ * Published by {@code CommentService} for every comment added or removed, and by {@code PostService} for the
+ * comments removed with a post; {@code postId} is null in that case, the post's counter goes with the post.
+ */
+public record CommentChangedEvent(Long postId, Long propertyId, int delta) {
+}
@@ -0,0 +1,13 @@
+package com.zekademirli.hostify.events;
+
+import com.zekademirli.hostify.dto.response.PostFeedResponse;
+
+/**
+ * Published by {@code PostService} on every post write; {@code after} is null for a deleted post.
+ */
+public record PostChangedEvent(Long postId, PostFeedResponse after) {
+
+    public boolean isDeleted() {
+        return after == null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.zekademirli.hostify.events;
+
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+
+/**
+ * Published by {@code PropertyService} on every property write, and by {@code PurgeService} when a
+ * deactivated property is finally removed. {@code before} is null for a new property and {@code after} is
+ * null for a deleted one.
+ */
+public record PropertyChangedEvent(PropertySnapshot before, PropertySnapshot after) {
+
+    public Long propertyId() {
+        return after != null ? after.id() : before.id();
+    }
+
+    public boolean isDeleted() {
+        return after == null;
+    }
+}
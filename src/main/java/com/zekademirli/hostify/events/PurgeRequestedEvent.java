@@ -0,0 +1,10 @@
+package com.zekademirli.hostify.events;
+
+import com.zekademirli.hostify.enums.PurgeTarget;
+
+/**
+ * Published when a property or user has been deactivated for deletion. Listeners run in the deleting
+ * transaction; the purge itself is queued once it commits.
+ */
+public record PurgeRequestedEvent(PurgeTarget target, Long id) {
+}
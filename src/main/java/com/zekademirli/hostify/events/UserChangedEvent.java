@@ -0,0 +1,7 @@
+package com.zekademirli.hostify.events;
+
+/**
+ * Published by {@code UserService} when a user's profile is updated.
+ */
+public record UserChangedEvent(Long userId, String username) {
+}
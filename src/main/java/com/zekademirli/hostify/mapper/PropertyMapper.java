@@ -9,6 +9,7 @@ public class PropertyMapper {
 
     public PropertyResponse toPropertyResponse(Property property) {
         return PropertyResponse.builder()
+                .id(property.getId())
                 .ownerId(property.getOwner().getId())
                 .name(property.getName())
                 .description(property.getDescription())
@@ -16,6 +17,9 @@ public class PropertyMapper {
                 .pricePerNight(property.getPricePerNight())
                 .maxGuests(property.getMaxGuests())
                 .category(property.getCategory())
+                .latitude(property.getLatitude())
+                .longitude(property.getLongitude())
+                .commentCount(property.getCommentCount() == null ? 0 : property.getCommentCount())
                 .build();
     }
 }
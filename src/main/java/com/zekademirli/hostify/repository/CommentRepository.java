@@ -1,7 +1,12 @@
 package com.zekademirli.hostify.repository;
 
+import com.zekademirli.hostify.dto.projection.CommentCount;
 import com.zekademirli.hostify.entities.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +16,24 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByPostId(Long postId);
 
     List<Comment> findAllByUserId(Long userId);
+
+    @Query("select c.id from Comment c where c.property.id = :propertyId " +
+            "or c.post.id in (select p.id from Post p where p.property.id = :propertyId) order by c.id")
+    List<Long> findIdsByPropertyId(@Param("propertyId") Long propertyId, Limit limit);
+
+    @Query("select c.id from Comment c where c.user.id = :userId " +
+            "or c.post.id in (select p.id from Post p where p.user.id = :userId) order by c.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("select new com.zekademirli.hostify.dto.projection.CommentCount(c.post.id, count(c)) " +
+            "from Comment c group by c.post.id")
+    List<CommentCount> countByPost();
+
+    @Query("select new com.zekademirli.hostify.dto.projection.CommentCount(c.property.id, count(c)) " +
+            "from Comment c group by c.property.id")
+    List<CommentCount> countByProperty();
+
+    @Modifying
+    @Query("delete from Comment c where c.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,43 @@
+package com.zekademirli.hostify.repository;
+
+import com.zekademirli.hostify.entities.IdempotencyRecord;
+import com.zekademirli.hostify.enums.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Claims the key for the current transaction. Returns 0 when the key is taken; a claim by a transaction
+     * that is still open makes this wait until it commits or rolls back.
+     */
+    @Modifying
+    @Query(value = "insert into idempotency_record (idempotency_key, request_hash, response_body, status, created_at) " +
+            "values (:key, :requestHash, '', 'IN_PROGRESS', :createdAt) on conflict (idempotency_key) do nothing",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key,
+                       @Param("requestHash") String requestHash,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("update IdempotencyRecord r set r.status = :status, r.responseBody = :responseBody where r.key = :key")
+    int complete(@Param("key") String key,
+                 @Param("responseBody") String responseBody,
+                 @Param("status") IdempotencyStatus status);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.createdAt < :cutoff")
+    int deleteExpired(@Param("key") String key, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,9 +1,22 @@
 package com.zekademirli.hostify.repository;
 
 import com.zekademirli.hostify.entities.Message;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
+
+    @Query("select m.id from Message m where m.sender.id = :userId or m.receiver.id = :userId order by m.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from Message m where m.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
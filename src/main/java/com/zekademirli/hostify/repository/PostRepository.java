@@ -1,15 +1,55 @@
 package com.zekademirli.hostify.repository;
 
+import com.zekademirli.hostify.dto.response.PostFeedResponse;
+import com.zekademirli.hostify.dto.response.PostResponse;
 import com.zekademirli.hostify.entities.Post;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    // the same set RecentPostsBuffer holds: posts whose author and property are both active
+    String FEED_SELECT = "select new com.zekademirli.hostify.dto.response.PostFeedResponse(" +
+            "p.id, u.id, u.username, pr.id, pr.name, p.createdAt) " +
+            "from Post p join p.user u join p.property pr where u.isActive = true and pr.isActive = true ";
+
     List<Post> findAllByUserId(Long userId);
 
     List<Post> findAllByPropertyId(Long propertyId);
 
+    @Query("select new com.zekademirli.hostify.dto.response.PostResponse(p.id, u.username, pr.name, pr.id) " +
+            "from Post p join p.user u join p.property pr order by p.id")
+    List<PostResponse> findAllResponses();
+
+    @Query(FEED_SELECT + "and p.id = :id")
+    Optional<PostFeedResponse> findFeedItemById(@Param("id") Long id);
+
+    @Query(FEED_SELECT + "order by p.createdAt desc, p.id desc")
+    List<PostFeedResponse> findFeedFirstPage(Limit limit);
+
+    @Query(FEED_SELECT + "and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)) " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostFeedResponse> findFeedPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    @Query("select p.id from Post p where p.property.id = :propertyId order by p.id")
+    List<Long> findIdsByPropertyId(@Param("propertyId") Long propertyId, Limit limit);
+
+    @Query("select p.id from Post p where p.user.id = :userId order by p.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from Post p where p.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
 }
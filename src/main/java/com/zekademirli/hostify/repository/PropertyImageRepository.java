@@ -0,0 +1,35 @@
+package com.zekademirli.hostify.repository;
+
+import com.zekademirli.hostify.entities.PropertyImage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PropertyImageRepository extends JpaRepository<PropertyImage, Long> {
+
+    List<PropertyImage> findAllByPropertyIdOrderById(Long propertyId);
+
+    Optional<PropertyImage> findByIdAndPropertyId(Long id, Long propertyId);
+
+    // images marked PropertyImage.VARIANTS_FAILED have empty hashes, not nulls, and are not returned
+    @Query("select i.id from PropertyImage i where i.thumbnailSha256 is null or i.mediumSha256 is null order by i.id")
+    List<Long> findIdsMissingVariants(Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update PropertyImage i set i.mediumSha256 = :medium, i.thumbnailSha256 = :thumbnail where i.id = :id")
+    int updateVariantHashes(@Param("id") Long id, @Param("medium") String medium, @Param("thumbnail") String thumbnail);
+
+    @Transactional
+    @Modifying
+    @Query("delete from PropertyImage i where i.property.id = :propertyId")
+    int deleteAllByPropertyId(@Param("propertyId") Long propertyId);
+}
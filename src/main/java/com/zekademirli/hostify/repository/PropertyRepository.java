@@ -1,29 +1,100 @@
 package com.zekademirli.hostify.repository;
 
+import com.zekademirli.hostify.dto.projection.PropertyFacetGroup;
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.dto.projection.PropertySummary;
+import com.zekademirli.hostify.dto.response.PropertyResponse;
 import com.zekademirli.hostify.entities.Property;
 import com.zekademirli.hostify.enums.RoomCategory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PropertyRepository extends JpaRepository<Property, Long> {
 
-    @EntityGraph(attributePaths = {"owner", "posts", "reservations"})
+    String RESPONSE_SELECT = "select new com.zekademirli.hostify.dto.response.PropertyResponse(p.id, p.owner.id, " +
+            "p.name, p.description, p.address, p.pricePerNight, p.maxGuests, p.category, p.latitude, p.longitude, " +
+            "p.commentCount) " +
+            "from Property p ";
+
+    // properties shown in listings: active and not waiting to be purged
+    String LISTED = "p.isActive = true and p.deletionRequestedAt is null ";
+
+    @EntityGraph(attributePaths = {"owner"})
     Optional<Property> findDetailedById(Long id);
 
+    @Query(RESPONSE_SELECT + "where " + LISTED + "order by p.id")
+    List<PropertyResponse> findFirstResponsePage(Limit limit);
+
+    @Query(RESPONSE_SELECT + "where " + LISTED + "and p.id > :afterId order by p.id")
+    List<PropertyResponse> findResponsePageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(RESPONSE_SELECT + "where " + LISTED + "and p.pricePerNight between :minPrice and :maxPrice " +
+            "and p.id > :afterId order by p.id")
+    List<PropertyResponse> findResponsePageInPriceRange(@Param("minPrice") double minPrice,
+                                                        @Param("maxPrice") double maxPrice,
+                                                        @Param("afterId") long afterId,
+                                                        Limit limit);
+
+    @Query(RESPONSE_SELECT + "where " + LISTED + "and p.id in :ids")
+    List<PropertyResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = RESPONSE_SELECT + "where " + LISTED + "and p.owner.id = :ownerId order by p.id",
+            countQuery = "select count(p) from Property p where " + LISTED + "and p.owner.id = :ownerId")
+    Page<PropertyResponse> findResponsesByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(value = RESPONSE_SELECT + "where " + LISTED + "and p.category = :category order by p.id",
+            countQuery = "select count(p) from Property p where " + LISTED + "and p.category = :category")
+    Page<PropertyResponse> findResponsesByCategory(@Param("category") RoomCategory category, Pageable pageable);
+
+    @Query("select new com.zekademirli.hostify.dto.projection.PropertySnapshot(p.id, p.owner.id, p.name, p.description, " +
+            "p.address, p.pricePerNight, p.maxGuests, p.category, p.isActive, p.latitude, p.longitude) from Property p")
+    List<PropertySnapshot> findAllSnapshots();
+
+    @Query("select new com.zekademirli.hostify.dto.projection.PropertySnapshot(p.id, p.owner.id, p.name, p.description, " +
+            "p.address, p.pricePerNight, p.maxGuests, p.category, p.isActive, p.latitude, p.longitude) " +
+            "from Property p where p.id = :id")
+    Optional<PropertySnapshot> findSnapshotById(@Param("id") Long id);
+
+    @Query("select new com.zekademirli.hostify.dto.projection.PropertySnapshot(p.id, p.owner.id, p.name, p.description, " +
+            "p.address, p.pricePerNight, p.maxGuests, p.category, p.isActive, p.latitude, p.longitude) " +
+            "from Property p where p.owner.id = :ownerId and p.deletionRequestedAt is null")
+    List<PropertySnapshot> findSnapshotsNotPendingDeletionByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("update Property p set p.isActive = false, p.deletionRequestedAt = :now, p.updatedAt = :now, " +
+            "p.version = p.version + 1 where p.owner.id = :ownerId and p.deletionRequestedAt is null")
+    int markDeletionRequestedByOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Query("select p.id from Property p where p.deletionRequestedAt is not null order by p.id")
+    List<Long> findIdsPendingDeletion();
+
+    @Query("select p.id from Property p where p.owner.id = :ownerId order by p.id")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId, Limit limit);
 
-    @EntityGraph(attributePaths = {"posts", "reservations"})
-    Page<Property> findAllByOwnerId(@Param("id") Long id, Pageable pageable);
+    @Modifying
+    @Query("delete from Property p where p.id = :id")
+    int hardDeleteById(@Param("id") Long id);
 
-    @EntityGraph(attributePaths = {"posts", "reservations"})
-    Page<Property> findAllByCategory(RoomCategory category, Pageable pageable);
+    @Query("select new com.zekademirli.hostify.dto.projection.PropertyFacetGroup(p.category, p.pricePerNight, " +
+            "p.maxGuests, count(p)) from Property p where p.isActive = true " +
+            "group by p.category, p.pricePerNight, p.maxGuests")
+    List<PropertyFacetGroup> countActiveByFacets();
 
+    @Query("select new com.zekademirli.hostify.dto.projection.PropertySummary(p.id, p.owner.id, p.name, p.pricePerNight, " +
+            "p.maxGuests, p.category, p.isActive) from Property p where p.id = :id")
+    Optional<PropertySummary> findSummaryById(@Param("id") Long id);
 
 }
@@ -1,23 +1,124 @@
 package com.zekademirli.hostify.repository;
 
-import com.zekademirli.hostify.entities.Property;
+import com.zekademirli.hostify.dto.projection.ReservationFingerprint;
+import com.zekademirli.hostify.dto.projection.ReservationHold;
+import com.zekademirli.hostify.dto.projection.ReservationStay;
+import com.zekademirli.hostify.dto.projection.ReservationView;
 import com.zekademirli.hostify.entities.Reservation;
 import com.zekademirli.hostify.enums.ReservationStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    List<Reservation> findByUserIdOrderByCheckInDateDesc(Long userId);
+    String VIEW_SELECT = "select new com.zekademirli.hostify.dto.projection.ReservationView(" +
+            "r.id, r.checkInDate, r.checkOutDate, r.totalPrice, r.status, r.createdAt, r.updatedAt, " +
+            "u.id, u.username, u.email, p.id, p.name, p.pricePerNight) " +
+            "from Reservation r join r.user u join r.property p ";
 
-    List<Reservation> findByPropertyIdOrderByCheckInDateDesc(Long propertyId);
+    @Query(VIEW_SELECT + "where u.id = :userId order by r.checkInDate desc, r.id desc")
+    List<ReservationView> findViewsByUserId(@Param("userId") Long userId);
 
-    List<Reservation> findByPropertyIdAndStatusIn(Long propertyId, List<ReservationStatus> statuses);
+    @Query(VIEW_SELECT + "where p.id = :propertyId order by r.checkInDate desc, r.id desc")
+    List<ReservationView> findViewsByPropertyId(@Param("propertyId") Long propertyId);
+
+    @Query(VIEW_SELECT + "where p.id = :propertyId and r.status in :statuses order by r.checkInDate, r.id")
+    List<ReservationView> findViewsByPropertyIdAndStatusIn(@Param("propertyId") Long propertyId,
+                                                           @Param("statuses") List<ReservationStatus> statuses);
+
+    String FINGERPRINT_SELECT = "select new com.zekademirli.hostify.dto.projection.ReservationFingerprint(count(r), " +
+            "coalesce(sum(r.id), 0L), coalesce(max(r.id), 0L), coalesce(sum(r.version), 0L), coalesce(sum(p.version), 0L), coalesce(sum(u.version), 0L), " +
+            "max(r.updatedAt), max(p.updatedAt)) " +
+            "from Reservation r join r.property p join r.user u ";
+
+    @Query(FINGERPRINT_SELECT + "where u.id = :userId")
+    ReservationFingerprint findFingerprintByUserId(@Param("userId") Long userId);
+
+    @Query(FINGERPRINT_SELECT + "where p.id = :propertyId")
+    ReservationFingerprint findFingerprintByPropertyId(@Param("propertyId") Long propertyId);
 
     boolean existsByPropertyIdAndCheckInDateLessThanAndCheckOutDateGreaterThanAndStatusIn(Long id, LocalDate checkOut, LocalDate checkIn, List<ReservationStatus> pending);
-}
 
+    @Query("select new com.zekademirli.hostify.dto.projection.ReservationStay(r.id, r.property.id, r.checkInDate, r.checkOutDate) " +
+            "from Reservation r where r.status in :statuses and r.checkOutDate > :date")
+    List<ReservationStay> findStaysByStatusInAndCheckOutDateAfter(@Param("statuses") List<ReservationStatus> statuses,
+                                                                  @Param("date") LocalDate date);
+
+    @Query("select new com.zekademirli.hostify.dto.projection.ReservationStay(r.id, r.property.id, r.checkInDate, r.checkOutDate) " +
+            "from Reservation r where r.property.id in :propertyIds and r.status in :statuses " +
+            "and r.checkInDate < :to and r.checkOutDate > :from")
+    List<ReservationStay> findStaysOverlapping(@Param("propertyIds") Collection<Long> propertyIds,
+                                               @Param("statuses") List<ReservationStatus> statuses,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to);
+
+    @Query(VIEW_SELECT + "where u.id = :userId order by r.checkInDate desc, r.id desc")
+    List<ReservationView> findFirstPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(VIEW_SELECT + "where u.id = :userId " +
+            "and (r.checkInDate < :checkInDate or (r.checkInDate = :checkInDate and r.id < :id)) " +
+            "order by r.checkInDate desc, r.id desc")
+    List<ReservationView> findPageByUserIdAfter(@Param("userId") Long userId,
+                                                @Param("checkInDate") LocalDate checkInDate,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    @Query(VIEW_SELECT + "where p.id = :propertyId order by r.checkInDate desc, r.id desc")
+    List<ReservationView> findFirstPageByPropertyId(@Param("propertyId") Long propertyId, Limit limit);
+
+    @Query(VIEW_SELECT + "where p.id = :propertyId " +
+            "and (r.checkInDate < :checkInDate or (r.checkInDate = :checkInDate and r.id < :id)) " +
+            "order by r.checkInDate desc, r.id desc")
+    List<ReservationView> findPageByPropertyIdAfter(@Param("propertyId") Long propertyId,
+                                                    @Param("checkInDate") LocalDate checkInDate,
+                                                    @Param("id") Long id,
+                                                    Limit limit);
+
+    // keyset on (checkOutDate, id), the order of idx_reservation_status_check_out_id
+    @Query("select new com.zekademirli.hostify.dto.projection.ReservationStay(r.id, r.property.id, r.checkInDate, " +
+            "r.checkOutDate) from Reservation r where r.status = :status and r.checkOutDate <= :date " +
+            "and (r.checkOutDate > :afterDate or (r.checkOutDate = :afterDate and r.id > :afterId)) " +
+            "order by r.checkOutDate, r.id")
+    List<ReservationStay> findStaysByStatusAndCheckOutDateNotAfter(@Param("status") ReservationStatus status,
+                                                                   @Param("date") LocalDate date,
+                                                                   @Param("afterDate") LocalDate afterDate,
+                                                                   @Param("afterId") Long afterId,
+                                                                   Limit limit);
+
+    @Modifying
+    @Query("update Reservation r set r.status = :newStatus, r.updatedAt = :now, r.version = r.version + 1 " +
+            "where r.id in :ids and r.status = :currentStatus")
+    int updateStatusByIdIn(@Param("ids") List<Long> ids,
+                           @Param("currentStatus") ReservationStatus currentStatus,
+                           @Param("newStatus") ReservationStatus newStatus,
+                           @Param("now") LocalDateTime now);
+
+    @Query("select new com.zekademirli.hostify.dto.projection.ReservationHold(r.id, r.property.id, r.createdAt) " +
+            "from Reservation r where r.status = :status")
+    List<ReservationHold> findHoldsByStatus(@Param("status") ReservationStatus status);
+
+    @Query("select new com.zekademirli.hostify.dto.projection.ReservationStay(r.id, r.property.id, r.checkInDate, r.checkOutDate) " +
+            "from Reservation r where r.property.id = :propertyId order by r.id")
+    List<ReservationStay> findStaysByPropertyId(@Param("propertyId") Long propertyId, Limit limit);
+
+    @Query("select new com.zekademirli.hostify.dto.projection.ReservationStay(r.id, r.property.id, r.checkInDate, r.checkOutDate) " +
+            "from Reservation r where r.user.id = :userId order by r.id")
+    List<ReservationStay> findStaysByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from Reservation r where r.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("select r.id from Reservation r where r.id in :ids and r.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") List<Long> ids, @Param("status") ReservationStatus status);
+}
@@ -1,9 +1,22 @@
 package com.zekademirli.hostify.repository;
 
 import com.zekademirli.hostify.entities.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    @Query("select r.id from Review r where r.property.id = :propertyId order by r.id")
+    List<Long> findIdsByPropertyId(@Param("propertyId") Long propertyId, Limit limit);
+
+    @Modifying
+    @Query("delete from Review r where r.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
@@ -2,9 +2,21 @@ package com.zekademirli.hostify.repository;
 
 import com.zekademirli.hostify.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
+
+    @Query("select u.id from User u where u.deletionRequestedAt is not null order by u.id")
+    List<Long> findIdsPendingDeletion();
+
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int hardDeleteById(@Param("id") Long id);
 }
\ No newline at end of file
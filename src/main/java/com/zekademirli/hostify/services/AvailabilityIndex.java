@@ -0,0 +1,99 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.ReservationStay;
+import com.zekademirli.hostify.enums.ReservationStatus;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+
+    public static final List<ReservationStatus> BLOCKING_STATUSES =
+            List.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+
+    private final ReservationRepository reservationRepository;
+    private final Map<Long, NightCalendar> calendars = new ConcurrentHashMap<>();
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.nanoTime();
+        List<ReservationStay> stays = reservationRepository.findStaysByStatusInAndCheckOutDateAfter(
+                BLOCKING_STATUSES, LocalDate.now().minusDays(1));
+        stays.forEach(stay -> add(stay.propertyId(), stay.id(), stay.checkInDate(), stay.checkOutDate()));
+        ready = true;
+        log.info("Availability index loaded {} stays for {} properties in {} ms",
+                stays.size(), calendars.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isFree(Long propertyId, LocalDate checkIn, LocalDate checkOut) {
+        return isFree(propertyId, checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    public boolean isFree(long propertyId, long fromDay, long toDay) {
+        NightCalendar calendar = calendars.get(propertyId);
+        return calendar == null || calendar.isFree(fromDay, toDay);
+    }
+
+    public BookedNights bookedNights(Long propertyId, LocalDate from, LocalDate to) {
+        NightCalendar calendar = calendars.get(propertyId);
+        if (calendar == null) {
+            return new BookedNights(epoch + "-0", new BitSet());
+        }
+        NightCalendar.Slice slice = calendar.slice(from.toEpochDay(), to.toEpochDay());
+        return new BookedNights(epoch + "-" + slice.version(), slice.nights());
+    }
+
+    public void add(Long propertyId, Long reservationId, LocalDate checkIn, LocalDate checkOut) {
+        calendars.computeIfAbsent(propertyId, id -> new NightCalendar())
+                .add(reservationId, checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    public void remove(Long propertyId, Long reservationId) {
+        NightCalendar calendar = calendars.get(propertyId);
+        if (calendar != null) {
+            calendar.remove(reservationId);
+        }
+    }
+
+    public int evictStaysEndingBefore(LocalDate date) {
+        long day = date.toEpochDay();
+        int evicted = 0;
+        for (NightCalendar calendar : calendars.values()) {
+            evicted += calendar.removeEndingBefore(day);
+        }
+        return evicted;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.isDeleted()) {
+            calendars.remove(event.propertyId());
+        }
+    }
+
+    public record BookedNights(String version, BitSet nights) {
+    }
+}
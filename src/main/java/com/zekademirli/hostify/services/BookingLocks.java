@@ -0,0 +1,76 @@
+package com.zekademirli.hostify.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks keyed by property id. A lock taken through {@link #lockUntilCompletion(Long)} is held
+ * until the surrounding transaction commits or rolls back, so check-then-insert on the same property
+ * is serialized while bookings for other properties run in parallel.
+ */
+@Component
+public class BookingLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public BookingLocks(@Value("${hostify.booking.lock-stripes:1024}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public void lockUntilCompletion(Long propertyId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking locks require an active transaction");
+        }
+        ReentrantLock lock = stripeFor(propertyId);
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    public void lockAllUntilCompletion(Collection<Long> propertyIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking locks require an active transaction");
+        }
+        // stripes are always taken in index order so two batches cannot deadlock
+        List<ReentrantLock> locks = propertyIds.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .mapToObj(index -> stripes[index])
+                .toList();
+        locks.forEach(ReentrantLock::lock);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = locks.size() - 1; i >= 0; i--) {
+                    locks.get(i).unlock();
+                }
+            }
+        });
+    }
+
+    private ReentrantLock stripeFor(Long propertyId) {
+        return stripes[stripeIndex(propertyId)];
+    }
+
+    private int stripeIndex(Long propertyId) {
+        int hash = propertyId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
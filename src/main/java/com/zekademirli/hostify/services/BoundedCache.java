@@ -0,0 +1,90 @@
+package com.zekademirli.hostify.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded LRU cache with expire-after-write. When disabled every lookup goes to the loader,
+ * which keeps benchmark comparisons honest without changing call sites.
+ * <p>
+ * A loaded value is only stored if no invalidation happened while it was loading, so a reader that fetched
+ * the row just before a write committed cannot put the old row back for a whole TTL.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // bumped by every invalidation; guarded by the entries monitor
+    private long generation;
+
+    public BoundedCache(String name, boolean enabled, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        if (!enabled) {
+            misses.increment();
+            return loader.apply(key);
+        }
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                return entry.value();
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (entries) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry<>(value, now + ttlMillis));
+                }
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            generation++;
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(name, enabled, size, hits.sum(), misses.sum());
+    }
+
+    public record Stats(String name, boolean enabled, int size, long hits, long misses) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
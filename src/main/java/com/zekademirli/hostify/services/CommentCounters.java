@@ -0,0 +1,307 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.CommentCount;
+import com.zekademirli.hostify.events.CommentChangedEvent;
+import com.zekademirli.hostify.events.PostChangedEvent;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.repository.CommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Comment counts per post and per property. Reads are answered from {@link LongAdder}s moved by
+ * {@link CommentChangedEvent}s; the same deltas are accumulated separately and flushed to the denormalized
+ * {@code comment_count} columns in one batch per table, so a busy post costs one UPDATE per flush instead of
+ * one per comment. A scheduled reconcile recounts from the comment table, which also repairs the drift left by
+ * purge bulk deletes that publish no events. The recount is only kept when no comment was committed while it ran:
+ * such a comment may already be in the recount with its event still to come, and would be counted twice.
+ */
+@Slf4j
+@Component
+public class CommentCounters {
+
+    private static final String INCREMENT_POSTS = "update post set comment_count = comment_count + ? where id = ?";
+    private static final String INCREMENT_PROPERTIES =
+            "update \"property\" set comment_count = comment_count + ? where id = ?";
+    private static final String RECOUNT_POSTS = "update post p set comment_count = coalesce(" +
+            "(select count(*) from comment c where c.post_id = p.id), 0) " +
+            "where comment_count <> coalesce((select count(*) from comment c where c.post_id = p.id), 0)";
+    private static final String RECOUNT_PROPERTIES = "update \"property\" p set comment_count = coalesce(" +
+            "(select count(*) from comment c where c.property_id = p.id), 0) " +
+            "where comment_count <> coalesce((select count(*) from comment c where c.property_id = p.id), 0)";
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final CommentRepository commentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, LongAdder> postCounts = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> propertyCounts = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> postDeltas = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> propertyDeltas = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+    // comment transactions between their before-commit and after-completion phases
+    private final AtomicLong committing = new AtomicLong();
+    // one flush or reconcile at a time; event handlers never take it
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // event handlers share it; a reconcile takes it exclusively to check for changes and correct in one step
+    private final ReentrantReadWriteLock countersLock = new ReentrantReadWriteLock();
+
+    public CommentCounters(CommentRepository commentRepository,
+                           DataSource dataSource,
+                           PlatformTransactionManager transactionManager) {
+        this.commentRepository = commentRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (reconcileCounts()) {
+            log.info("Comment counters loaded for {} posts and {} properties", postCounts.size(), propertyCounts.size());
+        } else {
+            log.warn("Comment counters could not be loaded, comments kept changing; the next reconcile will retry");
+        }
+    }
+
+    // the comment becomes visible to a recount before its after-commit event arrives, so mark it as on its way
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCommentCommitting(CommentChangedEvent event) {
+        committing.incrementAndGet();
+        changes.incrementAndGet();
+        // registered after the after-commit listener, so it runs once the delta has been applied
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                committing.decrementAndGet();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        countersLock.readLock().lock();
+        try {
+            if (event.postId() != null) {
+                add(postCounts, event.postId(), event.delta());
+                add(postDeltas, event.postId(), event.delta());
+            }
+            if (event.propertyId() != null) {
+                add(propertyCounts, event.propertyId(), event.delta());
+                add(propertyDeltas, event.propertyId(), event.delta());
+            }
+            changes.incrementAndGet();
+        } finally {
+            countersLock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.isDeleted()) {
+            countersLock.readLock().lock();
+            try {
+                postCounts.remove(event.postId());
+                postDeltas.remove(event.postId());
+                changes.incrementAndGet();
+            } finally {
+                countersLock.readLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.isDeleted()) {
+            countersLock.readLock().lock();
+            try {
+                propertyCounts.remove(event.propertyId());
+                propertyDeltas.remove(event.propertyId());
+                changes.incrementAndGet();
+            } finally {
+                countersLock.readLock().unlock();
+            }
+        }
+    }
+
+    public long postCount(Long postId) {
+        return sum(postCounts, postId);
+    }
+
+    public long propertyCount(Long propertyId) {
+        return sum(propertyCounts, propertyId);
+    }
+
+    public Map<Long, Long> postCounts(Collection<Long> postIds) {
+        return sums(postCounts, postIds);
+    }
+
+    public Map<Long, Long> propertyCounts(Collection<Long> propertyIds) {
+        return sums(propertyCounts, propertyIds);
+    }
+
+    @Scheduled(initialDelayString = "${hostify.comments.counter-flush-ms:5000}",
+            fixedDelayString = "${hostify.comments.counter-flush-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushDeltas();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${hostify.comments.counter-reconcile-ms:600000}",
+            fixedDelayString = "${hostify.comments.counter-reconcile-ms:600000}")
+    public void reconcile() {
+        if (!reconcileCounts()) {
+            log.debug("Skipping comment counter reconcile, comments changed while counting");
+        }
+    }
+
+    private boolean reconcileCounts() {
+        flushLock.lock();
+        try {
+            for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+                long changesBefore = changes.get();
+                flushDeltas();
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> recount(changesBefore, status)))) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // absolute recount of both the columns and the in-memory counters, kept only if no comment changed meanwhile;
+    // runs in a transaction with the flush lock held, so no deltas are written concurrently
+    private boolean recount(long changesBefore, TransactionStatus status) {
+        int posts = jdbcTemplate.update(RECOUNT_POSTS);
+        int properties = jdbcTemplate.update(RECOUNT_PROPERTIES);
+        List<CommentCount> byPost = commentRepository.countByPost();
+        List<CommentCount> byProperty = commentRepository.countByProperty();
+
+        long drift;
+        countersLock.writeLock().lock();
+        try {
+            if (changes.get() != changesBefore || committing.get() != 0) {
+                // a comment committed while counting; it may be in the recount with its delta still pending or
+                // yet to arrive, so the recount is rolled back and the deltas stay for the next flush
+                status.setRollbackOnly();
+                return false;
+            }
+            drift = correct(postCounts, byPost) + correct(propertyCounts, byProperty);
+        } finally {
+            countersLock.writeLock().unlock();
+        }
+        if (posts + properties > 0 || drift > 0) {
+            log.info("Comment counts corrected: {} post rows, {} property rows, in-memory drift {}",
+                    posts, properties, drift);
+        }
+        return true;
+    }
+
+    // callers hold the flush lock
+    private void flushDeltas() {
+        Map<Long, Long> posts = drain(postDeltas);
+        Map<Long, Long> properties = drain(propertyDeltas);
+        if (posts.isEmpty() && properties.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INCREMENT_POSTS, arguments(posts));
+                jdbcTemplate.batchUpdate(INCREMENT_PROPERTIES, arguments(properties));
+            });
+            log.debug("Flushed comment counts for {} posts and {} properties", posts.size(), properties.size());
+        } catch (RuntimeException e) {
+            // the batch rolled back as a whole, so the deltas go back for the next flush
+            posts.forEach((id, delta) -> add(postDeltas, id, delta));
+            properties.forEach((id, delta) -> add(propertyDeltas, id, delta));
+            log.warn("Flushing comment counts failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private static Map<Long, Long> drain(Map<Long, LongAdder> deltas) {
+        Map<Long, Long> drained = new LinkedHashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : deltas.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                drained.put(entry.getKey(), delta);
+            }
+        }
+        // entries are kept at zero rather than removed, so an add racing with the drain is never lost
+        return drained;
+    }
+
+    private static List<Object[]> arguments(Map<Long, Long> deltas) {
+        List<Object[]> arguments = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> arguments.add(new Object[]{delta, id}));
+        return arguments;
+    }
+
+    private static long correct(Map<Long, LongAdder> counts, List<CommentCount> expected) {
+        Map<Long, Long> byId = new HashMap<>();
+        for (CommentCount count : expected) {
+            byId.put(count.id(), count.count());
+        }
+        long drift = 0;
+        for (Map.Entry<Long, Long> entry : byId.entrySet()) {
+            LongAdder adder = counts.computeIfAbsent(entry.getKey(), id -> new LongAdder());
+            long difference = entry.getValue() - adder.sum();
+            if (difference != 0) {
+                adder.add(difference);
+                drift += Math.abs(difference);
+            }
+        }
+        for (Map.Entry<Long, LongAdder> entry : counts.entrySet()) {
+            if (!byId.containsKey(entry.getKey())) {
+                drift += Math.abs(entry.getValue().sum());
+                counts.remove(entry.getKey());
+            }
+        }
+        return drift;
+    }
+
+    private static void add(Map<Long, LongAdder> counters, Long id, long delta) {
+        counters.computeIfAbsent(id, key -> new LongAdder()).add(delta);
+    }
+
+    private static long sum(Map<Long, LongAdder> counters, Long id) {
+        LongAdder adder = counters.get(id);
+        return adder == null ? 0 : Math.max(0, adder.sum());
+    }
+
+    private static Map<Long, Long> sums(Map<Long, LongAdder> counters, Collection<Long> ids) {
+        Map<Long, Long> result = new LinkedHashMap<>();
+        for (Long id : ids) {
+            result.put(id, sum(counters, id));
+        }
+        return result;
+    }
+}
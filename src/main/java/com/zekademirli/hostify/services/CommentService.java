@@ -2,41 +2,53 @@ package com.zekademirli.hostify.services;
 
 import com.zekademirli.hostify.dto.request.AddCommentRequest;
 import com.zekademirli.hostify.dto.response.AddCommentResponse;
+import com.zekademirli.hostify.dto.response.CommentCountsResponse;
 import com.zekademirli.hostify.dto.response.CommentResponse;
 import com.zekademirli.hostify.dto.response.UserCommentResponse;
 import com.zekademirli.hostify.entities.Comment;
 import com.zekademirli.hostify.entities.Post;
 import com.zekademirli.hostify.entities.Property;
 import com.zekademirli.hostify.entities.User;
+import com.zekademirli.hostify.events.CommentChangedEvent;
+import com.zekademirli.hostify.exceptions.BadRequestException;
 import com.zekademirli.hostify.exceptions.ResourceNotFoundException;
 import com.zekademirli.hostify.repository.CommentRepository;
 import com.zekademirli.hostify.repository.PostRepository;
-import com.zekademirli.hostify.repository.PropertyRepository;
 import com.zekademirli.hostify.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class CommentService {
+
+    private static final int MAX_COUNT_IDS = 100;
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
-    private final PropertyRepository propertyRepository;
+    private final PropertyService propertyService;
+    private final CommentCounters commentCounters;
+    private final ApplicationEventPublisher eventPublisher;
 
 
-    public CommentService(PropertyRepository propertyRepository, ModelMapper modelMapper, CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository) {
+    public CommentService(PropertyService propertyService, ModelMapper modelMapper, CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository,
+                          CommentCounters commentCounters, ApplicationEventPublisher eventPublisher) {
         this.modelMapper = modelMapper;
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
-        this.propertyRepository = propertyRepository;
+        this.propertyService = propertyService;
+        this.commentCounters = commentCounters;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -48,8 +60,7 @@ public class CommentService {
         Post post = postRepository.findById(request.postId())
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
 
-        Property property = propertyRepository.findById(request.propertyId())
-                .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
+        Property property = propertyService.getPropertyReference(request.propertyId());
         Comment comment = new Comment();
         comment.setContent(request.content());
         comment.setUser(user);
@@ -57,6 +68,7 @@ public class CommentService {
         comment.setProperty(property);
 
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new CommentChangedEvent(post.getId(), request.propertyId(), 1));
 
         return modelMapper.map(savedComment, AddCommentResponse.class);
     }
@@ -110,11 +122,23 @@ public class CommentService {
 
             commentRepository.delete(comment);
             log.info("Comment deleted {}", commentId);
+            eventPublisher.publishEvent(new CommentChangedEvent(comment.getPost().getId(),
+                    comment.getProperty().getId(), -1));
         } catch (ResourceNotFoundException e) {
             log.error("Error occurred while deleting comment with ID: {}", commentId);
         }
     }
 
+    /**
+     * Comment counts served from {@link CommentCounters}; they trail the table by at most one flush.
+     */
+    public CommentCountsResponse getCommentCounts(Set<Long> postIds, Set<Long> propertyIds) {
+        if (postIds.size() > MAX_COUNT_IDS || propertyIds.size() > MAX_COUNT_IDS) {
+            throw new BadRequestException("At most " + MAX_COUNT_IDS + " post and " + MAX_COUNT_IDS + " property ids");
+        }
+        return new CommentCountsResponse(commentCounters.postCounts(postIds), commentCounters.propertyCounts(propertyIds));
+    }
+
     @Transactional
     public List<CommentResponse> getAllCommentsByPostId(Long postId) {
         List<Comment> commentList = commentRepository.findAllByPostId(postId);
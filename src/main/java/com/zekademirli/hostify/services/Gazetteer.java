@@ -0,0 +1,84 @@
+package com.zekademirli.hostify.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline geocoder over a place-name file ({@code name,latitude,longitude}). An address resolves to the
+ * longest place name it contains, preferring the one closest to the end of the address, so
+ * "12 Nizami St, Baku" resolves to Baku. Nothing is looked up over the network.
+ */
+@Slf4j
+@Component
+public class Gazetteer {
+
+    private static final int MAX_NAME_WORDS = 3;
+
+    private final Map<String, GeoPoint> places = new HashMap<>();
+
+    public Gazetteer(@Value("${hostify.geo.gazetteer:classpath:geo/gazetteer.csv}") Resource gazetteer) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(gazetteer.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("name,")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                if (columns.length != 3) {
+                    log.warn("Skipping malformed gazetteer line: {}", line);
+                    continue;
+                }
+                places.put(String.join(" ", tokenize(columns[0])),
+                        new GeoPoint(Double.parseDouble(columns[1].trim()), Double.parseDouble(columns[2].trim())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read gazetteer " + gazetteer.getDescription(), e);
+        }
+        log.info("Gazetteer loaded {} places", places.size());
+    }
+
+    public Optional<GeoPoint> geocode(String address) {
+        if (address == null) {
+            return Optional.empty();
+        }
+        List<String> tokens = tokenize(address);
+        for (int words = Math.min(MAX_NAME_WORDS, tokens.size()); words > 0; words--) {
+            for (int start = tokens.size() - words; start >= 0; start--) {
+                GeoPoint point = places.get(String.join(" ", tokens.subList(start, start + words)));
+                if (point != null) {
+                    return Optional.of(point);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int size() {
+        return places.size();
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,24 @@
+package com.zekademirli.hostify.services;
+
+public record GeoPoint(double latitude, double longitude) {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    public static boolean isValid(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
+
+    /**
+     * Great-circle distance by the haversine formula.
+     */
+    public double distanceKm(double otherLatitude, double otherLongitude) {
+        double dLat = Math.toRadians(otherLatitude - latitude);
+        double dLon = Math.toRadians(otherLongitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(otherLatitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
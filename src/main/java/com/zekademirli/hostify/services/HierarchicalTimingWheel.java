@@ -0,0 +1,138 @@
+package com.zekademirli.hostify.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Hashed hierarchical timing wheel with 64 slots per level. Scheduling and cancelling are O(1);
+ * advancing costs one slot per elapsed tick plus an occasional cascade of a higher-level slot.
+ */
+class HierarchicalTimingWheel<K, V> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final List<ArrayDeque<Entry<K, V>>[]> levels = new ArrayList<>();
+    private final ArrayDeque<Entry<K, V>> overdue = new ArrayDeque<>();
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    private long currentTick;
+
+    HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    synchronized void schedule(K key, V value, long deadlineMillis) {
+        Entry<K, V> previous = entries.remove(key);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        Entry<K, V> entry = new Entry<>(key, value, (deadlineMillis + tickMillis - 1) / tickMillis);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    synchronized boolean cancel(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.cancelled = true;
+        return true;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void advanceTo(long nowMillis, BiConsumer<K, V> onExpire) {
+        drain(overdue, onExpire);
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            if ((currentTick & SLOT_MASK) == 0) {
+                cascade();
+            }
+            if (!levels.isEmpty()) {
+                drain(levels.get(0)[(int) (currentTick & SLOT_MASK)], onExpire);
+            }
+        }
+    }
+
+    private void cascade() {
+        for (int level = 1; level < levels.size(); level++) {
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            ArrayDeque<Entry<K, V>> bucket = levels.get(level)[slot];
+            ArrayDeque<Entry<K, V>> moving = new ArrayDeque<>(bucket);
+            bucket.clear();
+            for (Entry<K, V> entry : moving) {
+                if (entry.cancelled) {
+                    continue;
+                }
+                if (entry.deadlineTick <= currentTick) {
+                    wheel(0)[(int) (currentTick & SLOT_MASK)].add(entry);
+                } else {
+                    place(entry);
+                }
+            }
+            if (slot != 0) {
+                break;
+            }
+        }
+    }
+
+    private void place(Entry<K, V> entry) {
+        long delta = entry.deadlineTick - currentTick;
+        if (delta <= 0) {
+            overdue.add(entry);
+            return;
+        }
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((entry.deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        wheel(level)[slot].add(entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArrayDeque<Entry<K, V>>[] wheel(int level) {
+        while (levels.size() <= level) {
+            ArrayDeque<Entry<K, V>>[] slots = new ArrayDeque[SLOTS];
+            for (int i = 0; i < SLOTS; i++) {
+                slots[i] = new ArrayDeque<>();
+            }
+            levels.add(slots);
+        }
+        return levels.get(level);
+    }
+
+    private void drain(ArrayDeque<Entry<K, V>> bucket, BiConsumer<K, V> onExpire) {
+        Entry<K, V> entry;
+        while ((entry = bucket.poll()) != null) {
+            if (!entry.cancelled) {
+                entries.remove(entry.key);
+                onExpire.accept(entry.key, entry.value);
+            }
+        }
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Entry(K key, V value, long deadlineTick) {
+            this.key = key;
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.zekademirli.hostify.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zekademirli.hostify.dto.response.ReservationResponse;
+import com.zekademirli.hostify.enums.IdempotencyStatus;
+import com.zekademirli.hostify.exceptions.BadRequestException;
+import com.zekademirli.hostify.exceptions.ConflictException;
+import com.zekademirli.hostify.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Replays the original response for a repeated {@code Idempotency-Key}. Recent keys are answered from a
+ * bounded in-memory map; older ones and keys written by other instances come from the
+ * {@code idempotency_record} table. The key row is claimed in the same transaction as the reservation, so the
+ * reservation never commits without it and two instances cannot both run the action for one key. Concurrent
+ * requests with the same key on this instance wait for the first one.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Map<String, CachedResponse> recent;
+    private final Map<String, CompletableFuture<ReservationResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${hostify.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${hostify.idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public ReservationResponse execute(String key, String requestHash, Supplier<ReservationResponse> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        CachedResponse cached = recent.get(key);
+        if (cached != null && !isExpired(cached.createdAt())) {
+            return replay(cached, requestHash);
+        }
+
+        CompletableFuture<ReservationResponse> ours = new CompletableFuture<>();
+        CompletableFuture<ReservationResponse> running = inFlight.putIfAbsent(key, ours);
+        if (running != null) {
+            await(running);
+            // the leader's entry carries its request hash; a waiter with different parameters must not get it
+            CachedResponse settled = recent.get(key);
+            if (settled == null) {
+                settled = loadStored(key)
+                        .orElseThrow(() -> new ConflictException("Idempotency-Key is being processed, retry later"));
+            }
+            return replay(settled, requestHash);
+        }
+
+        try {
+            CachedResponse settled = transactionTemplate.execute(status -> claimAndRun(key, requestHash, action));
+            recent.put(key, settled);
+            ours.complete(settled.response());
+            return replay(settled, requestHash);
+        } catch (RuntimeException e) {
+            ours.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, ours);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hostify.idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency records", deleted);
+        }
+    }
+
+    // runs in one transaction: the claimed key and the reservation commit or roll back together
+    private CachedResponse claimAndRun(String key, String requestHash, Supplier<ReservationResponse> action) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.deleteExpired(key, now.minus(ttl));
+        if (idempotencyRecordRepository.insertIfAbsent(key, requestHash, now) == 0) {
+            // another request holds or held the key; an open claim has already committed by the time we get here
+            return loadStored(key)
+                    .orElseThrow(() -> new ConflictException("Idempotency-Key is being processed, retry later"));
+        }
+
+        ReservationResponse response = action.get();
+        idempotencyRecordRepository.complete(key, writeResponse(response), IdempotencyStatus.COMPLETED);
+        return new CachedResponse(requestHash, response, now);
+    }
+
+    private ReservationResponse replay(CachedResponse cached, String requestHash) {
+        if (!cached.requestHash().equals(requestHash)) {
+            throw new BadRequestException("Idempotency-Key was already used with different request parameters");
+        }
+        return cached.response();
+    }
+
+    private void await(CompletableFuture<ReservationResponse> running) {
+        try {
+            running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Optional<CachedResponse> loadStored(String key) {
+        return idempotencyRecordRepository.findById(key)
+                .filter(stored -> stored.getStatus() == IdempotencyStatus.COMPLETED)
+                .filter(stored -> !isExpired(stored.getCreatedAt()))
+                .map(stored -> new CachedResponse(stored.getRequestHash(), readResponse(stored.getResponseBody()),
+                        stored.getCreatedAt()));
+    }
+
+    private String writeResponse(ReservationResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            // failing here rolls the reservation back with the key, rather than committing a booking that
+            // a retry would make again
+            throw new IllegalStateException("Could not serialize idempotent response", e);
+        }
+    }
+
+    private ReservationResponse readResponse(String body) {
+        try {
+            return objectMapper.readValue(body, ReservationResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt idempotency record", e);
+        }
+    }
+
+    private boolean isExpired(LocalDateTime createdAt) {
+        return createdAt.plus(ttl).isBefore(LocalDateTime.now());
+    }
+
+    private record CachedResponse(String requestHash, ReservationResponse response, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.enums.ImageVariant;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * File layout for property images: {@code <root>/<propertyId>/<imageId>/<variant>}. Files are written to a
+ * temporary name and moved into place so readers never see a partial file.
+ */
+@Slf4j
+@Component
+public class ImageStorage {
+
+    private final Path root;
+
+    public ImageStorage(@Value("${hostify.images.storage-dir:./data/images}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root.resolve("tmp"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create image storage directory " + this.root, e);
+        }
+    }
+
+    public Path pathOf(long propertyId, long imageId, ImageVariant variant) {
+        return imageDirectory(propertyId, imageId).resolve(variant.name().toLowerCase(Locale.ROOT));
+    }
+
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(root.resolve("tmp"), "upload-", ".part");
+    }
+
+    public void moveIntoPlace(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public void deleteImage(long propertyId, long imageId) {
+        deleteRecursively(imageDirectory(propertyId, imageId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.isDeleted()) {
+            deleteRecursively(root.resolve(String.valueOf(event.propertyId())));
+        }
+    }
+
+    private Path imageDirectory(long propertyId, long imageId) {
+        return root.resolve(String.valueOf(propertyId)).resolve(String.valueOf(imageId));
+    }
+
+    private void deleteRecursively(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Could not delete {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Could not delete image directory {}: {}", directory, e.getMessage());
+        }
+    }
+}
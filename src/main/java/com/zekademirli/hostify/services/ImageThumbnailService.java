@@ -0,0 +1,221 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.entities.PropertyImage;
+import com.zekademirli.hostify.enums.ImageVariant;
+import com.zekademirli.hostify.repository.PropertyImageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders the resized JPEG variants of uploaded images on a small fixed pool with a bounded queue. When the
+ * queue is full the upload is not slowed down; a periodic sweep picks up every image still missing a
+ * variant, which also covers work lost to a restart.
+ */
+@Slf4j
+@Service
+public class ImageThumbnailService {
+
+    private static final ImageVariant[] RESIZED = {ImageVariant.MEDIUM, ImageVariant.THUMBNAIL};
+
+    private final PropertyImageRepository propertyImageRepository;
+    private final ImageStorage imageStorage;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final float jpegQuality;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public ImageThumbnailService(PropertyImageRepository propertyImageRepository,
+                                 ImageStorage imageStorage,
+                                 @Value("${hostify.images.thumbnail-threads:2}") int threads,
+                                 @Value("${hostify.images.thumbnail-queue:100}") int queueCapacity,
+                                 @Value("${hostify.images.jpeg-quality:0.82}") float jpegQuality) {
+        this.propertyImageRepository = propertyImageRepository;
+        this.imageStorage = imageStorage;
+        this.queueCapacity = queueCapacity;
+        this.jpegQuality = jpegQuality;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "image-thumbnail-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void submit(Long imageId) {
+        if (!pending.add(imageId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(imageId);
+                } finally {
+                    pending.remove(imageId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(imageId);
+            log.debug("Thumbnail queue full, image {} left for the next sweep", imageId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hostify.images.sweep-interval-ms:60000}")
+    public void sweep() {
+        int free = executor.getQueue().remainingCapacity();
+        if (free == 0) {
+            return;
+        }
+        propertyImageRepository.findIdsMissingVariants(Limit.of(Math.min(free, queueCapacity)))
+                .forEach(this::submit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generate(Long imageId) {
+        PropertyImage image = propertyImageRepository.findById(imageId).orElse(null);
+        if (image == null) {
+            return;
+        }
+        long propertyId = image.getProperty().getId();
+        long start = System.nanoTime();
+        try {
+            BufferedImage original = decode(imageStorage.pathOf(propertyId, imageId, ImageVariant.ORIGINAL));
+            if (original == null) {
+                // retrying would fail the same way on every sweep
+                propertyImageRepository.updateVariantHashes(imageId, PropertyImage.VARIANTS_FAILED,
+                        PropertyImage.VARIANTS_FAILED);
+                log.warn("Image {} cannot be decoded, marked as having no variants", imageId);
+                return;
+            }
+            String[] hashes = new String[RESIZED.length];
+            for (int i = 0; i < RESIZED.length; i++) {
+                hashes[i] = writeVariant(original, RESIZED[i], imageStorage.pathOf(propertyId, imageId, RESIZED[i]));
+            }
+            propertyImageRepository.updateVariantHashes(imageId, hashes[0], hashes[1]);
+            log.info("Generated variants for image {} in {} ms", imageId, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Generating variants for image {} failed: {}", imageId, e.getMessage());
+        }
+    }
+
+    // null when the file is not a decodable image; I/O errors reading it are left to the next sweep
+    private static BufferedImage decode(Path original) throws IOException {
+        if (!Files.isReadable(original)) {
+            throw new IOException("Original " + original + " is not readable");
+        }
+        try {
+            return ImageIO.read(original.toFile());
+        } catch (IIOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            log.debug("Decoding {} failed: {}", original, e.getMessage());
+            return null;
+        }
+    }
+
+    private String writeVariant(BufferedImage original, ImageVariant variant, Path target) throws IOException {
+        BufferedImage resized = resize(original, variant.getWidth());
+        MessageDigest digest = sha256();
+        Path temp = imageStorage.createTempFile();
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), digest);
+                 ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                writer.setOutput(imageOut);
+                writer.write(null, new IIOImage(resized, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            imageStorage.moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // halves the image until it is within 2x of the target, then does one bilinear step; never upscales
+    private static BufferedImage resize(BufferedImage source, int targetWidth) {
+        int width = Math.min(targetWidth, source.getWidth());
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        BufferedImage current = toRgb(source);
+        while (current.getWidth() / 2 >= width) {
+            current = scale(current, current.getWidth() / 2, Math.max(1, current.getHeight() / 2));
+        }
+        return current.getWidth() == width ? current : scale(current, width, height);
+    }
+
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            // JPEG has no alpha channel; transparent PNG areas become white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            graphics.drawImage(source, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
@@ -0,0 +1,168 @@
+package com.zekademirli.hostify.services;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Booked nights of a single property as a bitset over epoch days.
+ * Bit {@code i} covers the night starting at {@code baseDay + i}; a stay [checkIn, checkOut)
+ * occupies the nights checkIn .. checkOut - 1.
+ */
+class NightCalendar {
+
+    private static final int WORD_BITS = 64;
+
+    private final Map<Long, Stay> stays = new HashMap<>();
+    private long[] words = new long[0];
+    private long baseDay;
+    private long version;
+
+    synchronized boolean isFree(long fromDay, long toDay) {
+        if (words.length == 0 || fromDay >= toDay) {
+            return true;
+        }
+        long from = Math.max(fromDay, baseDay);
+        long to = Math.min(toDay, baseDay + (long) words.length * WORD_BITS);
+        if (from >= to) {
+            return true;
+        }
+        int startBit = (int) (from - baseDay);
+        int endBit = (int) (to - baseDay);
+        int startWord = startBit >>> 6;
+        int endWord = (endBit - 1) >>> 6;
+        for (int i = startWord; i <= endWord; i++) {
+            if ((words[i] & wordMask(i, startBit, endBit)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized Slice slice(long fromDay, long toDay) {
+        BitSet nights = new BitSet((int) (toDay - fromDay));
+        long from = Math.max(fromDay, baseDay);
+        long to = Math.min(toDay, baseDay + (long) words.length * WORD_BITS);
+        for (long day = from; day < to; day++) {
+            int bit = (int) (day - baseDay);
+            if ((words[bit >>> 6] & (1L << bit)) != 0) {
+                nights.set((int) (day - fromDay));
+            }
+        }
+        return new Slice(version, nights);
+    }
+
+    synchronized void add(long reservationId, long fromDay, long toDay) {
+        Stay previous = stays.put(reservationId, new Stay(fromDay, toDay));
+        if (previous != null) {
+            rebuildRange(previous.fromDay(), previous.toDay());
+        }
+        setRange(fromDay, toDay);
+        version++;
+    }
+
+    synchronized boolean remove(long reservationId) {
+        Stay removed = stays.remove(reservationId);
+        if (removed == null) {
+            return false;
+        }
+        rebuildRange(removed.fromDay(), removed.toDay());
+        version++;
+        return true;
+    }
+
+    synchronized int removeEndingBefore(long day) {
+        int before = stays.size();
+        stays.values().removeIf(stay -> stay.toDay() <= day);
+        int removed = before - stays.size();
+        if (removed > 0) {
+            words = new long[0];
+            stays.values().forEach(stay -> setRange(stay.fromDay(), stay.toDay()));
+            version++;
+        }
+        return removed;
+    }
+
+    synchronized boolean contains(long reservationId) {
+        return stays.containsKey(reservationId);
+    }
+
+    synchronized long version() {
+        return version;
+    }
+
+    synchronized int size() {
+        return stays.size();
+    }
+
+    private void rebuildRange(long fromDay, long toDay) {
+        clearRange(fromDay, toDay);
+        for (Stay stay : stays.values()) {
+            if (stay.fromDay() < toDay && stay.toDay() > fromDay) {
+                setRange(Math.max(stay.fromDay(), fromDay), Math.min(stay.toDay(), toDay));
+            }
+        }
+    }
+
+    private void setRange(long fromDay, long toDay) {
+        if (fromDay >= toDay) {
+            return;
+        }
+        ensureCapacity(fromDay, toDay);
+        int startBit = (int) (fromDay - baseDay);
+        int endBit = (int) (toDay - baseDay);
+        for (int i = startBit >>> 6; i <= (endBit - 1) >>> 6; i++) {
+            words[i] |= wordMask(i, startBit, endBit);
+        }
+    }
+
+    private void clearRange(long fromDay, long toDay) {
+        long from = Math.max(fromDay, baseDay);
+        long to = Math.min(toDay, baseDay + (long) words.length * WORD_BITS);
+        if (from >= to) {
+            return;
+        }
+        int startBit = (int) (from - baseDay);
+        int endBit = (int) (to - baseDay);
+        for (int i = startBit >>> 6; i <= (endBit - 1) >>> 6; i++) {
+            words[i] &= ~wordMask(i, startBit, endBit);
+        }
+    }
+
+    private void ensureCapacity(long fromDay, long toDay) {
+        long newBase = Math.floorDiv(fromDay, WORD_BITS) * WORD_BITS;
+        long newEnd = Math.floorDiv(toDay + WORD_BITS - 1, WORD_BITS) * WORD_BITS;
+        if (words.length == 0) {
+            baseDay = newBase;
+            words = new long[(int) ((newEnd - newBase) / WORD_BITS)];
+            return;
+        }
+        long currentEnd = baseDay + (long) words.length * WORD_BITS;
+        if (newBase >= baseDay && newEnd <= currentEnd) {
+            return;
+        }
+        long base = Math.min(newBase, baseDay);
+        long end = Math.max(newEnd, currentEnd);
+        long[] grown = new long[(int) ((end - base) / WORD_BITS)];
+        System.arraycopy(words, 0, grown, (int) ((baseDay - base) / WORD_BITS), words.length);
+        words = grown;
+        baseDay = base;
+    }
+
+    private static long wordMask(int wordIndex, int startBit, int endBit) {
+        int wordStart = wordIndex << 6;
+        int lo = Math.max(startBit - wordStart, 0);
+        int hi = Math.min(endBit - wordStart, WORD_BITS);
+        long mask = -1L << lo;
+        if (hi < WORD_BITS) {
+            mask &= (1L << hi) - 1;
+        }
+        return mask;
+    }
+
+    record Slice(long version, BitSet nights) {
+    }
+
+    private record Stay(long fromDay, long toDay) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.exceptions.ConflictException;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and retries it with jittered exponential backoff when
+ * an optimistic version check fails at flush or commit. Every attempt gets a new transaction even when the
+ * caller already has one: joining it would leave the retries in a rollback-only transaction with the stale
+ * persistence context of the first attempt.
+ */
+@Slf4j
+@Component
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager,
+                           @Value("${hostify.optimistic-retry.max-attempts:4}") int maxAttempts,
+                           @Value("${hostify.optimistic-retry.initial-backoff-ms:10}") long initialBackoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        executions.increment();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("Giving up on {} after {} conflicting attempts", operation, attempt);
+                    throw new ConflictException("Concurrent modification, please retry: " + operation);
+                }
+                log.debug("Optimistic lock conflict on {} (attempt {}), retrying", operation, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hostify.optimistic-retry.report-interval-ms:300000}")
+    public void reportConflictRate() {
+        long total = executions.sumThenReset();
+        long conflicted = conflicts.sumThenReset();
+        long failed = exhausted.sumThenReset();
+        if (total > 0) {
+            log.info("Optimistic locking: {} operations, {} conflicts ({} per 100 ops), {} gave up",
+                    total, conflicted, conflicted * 100 / total, failed);
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = initialBackoffMillis << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying after a concurrent modification");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.ReservationHold;
+import com.zekademirli.hostify.enums.ReservationStatus;
+import com.zekademirli.hostify.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expires PENDING reservations that were not confirmed within the hold TTL. Every open hold sits in an
+ * in-memory timing wheel, rebuilt from the database on startup, so expiry needs neither a task per
+ * reservation nor a periodic table scan.
+ */
+@Slf4j
+@Service
+public class PendingHoldExpiry {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ReservationRepository reservationRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdTtl;
+    private final HierarchicalTimingWheel<Long, Long> wheel;
+
+    public PendingHoldExpiry(ReservationRepository reservationRepository,
+                             AvailabilityIndex availabilityIndex,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${hostify.reservations.hold-ttl:PT24H}") Duration holdTtl,
+                             @Value("${hostify.reservations.hold-tick-ms:1000}") long tickMillis) {
+        this.reservationRepository = reservationRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.holdTtl = holdTtl;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<ReservationHold> holds = transactionTemplate.execute(
+                status -> reservationRepository.findHoldsByStatus(ReservationStatus.PENDING));
+        if (holds == null) {
+            return;
+        }
+        holds.forEach(hold -> track(hold.id(), hold.propertyId(), hold.createdAt()));
+        log.info("Tracking {} pending reservation holds with TTL {}", holds.size(), holdTtl);
+    }
+
+    public void track(Long reservationId, Long propertyId, LocalDateTime createdAt) {
+        long deadline = createdAt.plus(holdTtl).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        wheel.schedule(reservationId, propertyId, deadline);
+    }
+
+    public void untrack(Long reservationId) {
+        wheel.cancel(reservationId);
+    }
+
+    @Scheduled(fixedDelayString = "${hostify.reservations.hold-tick-ms:1000}")
+    public void expireHolds() {
+        Map<Long, Long> expired = new HashMap<>();
+        wheel.advanceTo(System.currentTimeMillis(), expired::put);
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(expired.keySet());
+        int released = 0;
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            List<Long> expiredIds = transactionTemplate.execute(status -> expireBatch(batch));
+            if (expiredIds == null) {
+                continue;
+            }
+            expiredIds.forEach(id -> availabilityIndex.remove(expired.get(id), id));
+            released += expiredIds.size();
+        }
+        log.info("Expired {} pending reservation holds", released);
+    }
+
+    // returns only the rows this transaction moved to EXPIRED; a hold confirmed while the batch ran keeps its
+    // status (the update re-checks it on the locked row) and must stay in the availability index
+    private List<Long> expireBatch(List<Long> ids) {
+        int updated = reservationRepository.updateStatusByIdIn(
+                ids, ReservationStatus.PENDING, ReservationStatus.EXPIRED, LocalDateTime.now());
+        if (updated == 0) {
+            return List.of();
+        }
+        return reservationRepository.findIdsByIdInAndStatus(ids, ReservationStatus.EXPIRED);
+    }
+}
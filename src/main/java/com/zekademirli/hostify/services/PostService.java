@@ -1,33 +1,55 @@
 package com.zekademirli.hostify.services;
 
+import com.zekademirli.hostify.dto.projection.PropertySummary;
+import com.zekademirli.hostify.dto.request.KeysetCursor;
 import com.zekademirli.hostify.dto.response.AddPostResponse;
+import com.zekademirli.hostify.dto.response.CursorPage;
+import com.zekademirli.hostify.dto.response.PostFeedResponse;
 import com.zekademirli.hostify.dto.response.PostResponse;
 import com.zekademirli.hostify.dto.response.UpdatePostResponse;
 import com.zekademirli.hostify.entities.Post;
 import com.zekademirli.hostify.entities.Property;
 import com.zekademirli.hostify.entities.User;
+import com.zekademirli.hostify.events.CommentChangedEvent;
+import com.zekademirli.hostify.events.PostChangedEvent;
+import com.zekademirli.hostify.exceptions.BadRequestException;
 import com.zekademirli.hostify.exceptions.ResourceNotFoundException;
 import com.zekademirli.hostify.exceptions.UnauthorizedException;
 import com.zekademirli.hostify.repository.PostRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class PostService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     public final PostRepository postRepository;
     public final UserService userService;
     public final PropertyService propertyService;
+    private final RecentPostsBuffer recentPostsBuffer;
+    private final CommentCounters commentCounters;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PostService(PostRepository postRepository, UserService userService, PropertyService propertyService) {
+    public PostService(PostRepository postRepository, UserService userService, PropertyService propertyService,
+                       RecentPostsBuffer recentPostsBuffer, CommentCounters commentCounters,
+                       ApplicationEventPublisher eventPublisher) {
         this.postRepository = postRepository;
         this.userService = userService;
         this.propertyService = propertyService;
+        this.recentPostsBuffer = recentPostsBuffer;
+        this.commentCounters = commentCounters;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -35,7 +57,11 @@ public class PostService {
         log.info("Adding new post for owner ID: {}", userId);
 
         User user = userService.getOneUser(userId);
-        Property property = propertyService.getOneProperty(propertyId);
+        PropertySummary summary = propertyService.getPropertySummary(propertyId);
+        if (!Boolean.TRUE.equals(user.getIsActive()) || !Boolean.TRUE.equals(summary.active())) {
+            throw new BadRequestException("Property or user is no longer active");
+        }
+        Property property = propertyService.getPropertyReference(propertyId);
 
         Post post = new Post();
         post.setUser(user);
@@ -43,6 +69,8 @@ public class PostService {
         Post savedPost = postRepository.save(post);
 
         log.info("Post saved successfully with id: {}", savedPost.getId());
+        eventPublisher.publishEvent(new PostChangedEvent(savedPost.getId(), new PostFeedResponse(savedPost.getId(),
+                user.getId(), user.getUsername(), propertyId, summary.name(), savedPost.getCreatedAt())));
 
         return AddPostResponse.builder()
                 .id(savedPost.getId())
@@ -61,10 +89,17 @@ public class PostService {
             throw new UnauthorizedException("This post is not yours!");
         }
 
-        Property newProperty = propertyService.getOneProperty(propertyId);
+        PropertySummary summary = propertyService.getPropertySummary(propertyId);
+        if (!Boolean.TRUE.equals(summary.active())) {
+            throw new BadRequestException("Property is no longer active");
+        }
+        Property newProperty = propertyService.getPropertyReference(propertyId);
         post.setProperty(newProperty);
         Post savedPost = postRepository.save(post);
         log.info("Post updated successfully with id: {}", savedPost.getId());
+        User user = savedPost.getUser();
+        eventPublisher.publishEvent(new PostChangedEvent(savedPost.getId(), new PostFeedResponse(savedPost.getId(),
+                user.getId(), user.getUsername(), propertyId, summary.name(), savedPost.getCreatedAt())));
 
         return UpdatePostResponse.builder()
                 .id(savedPost.getId())
@@ -81,25 +116,48 @@ public class PostService {
                 post.getId(),
                 post.getUser().getUsername(),
                 post.getProperty().getName(),
-                post.getProperty().getId()
+                post.getProperty().getId(),
+                commentCounters.postCount(post.getId())
         );
     }
 
     @Transactional(readOnly = true)
     public List<PostResponse> getAllPosts() {
-        List<Post> posts = postRepository.findAll();
+        return withCommentCounts(postRepository.findAllResponses());
+    }
 
-        return posts.stream().map(post -> {
-            String username = post.getUser().getUsername();
-            String propertyName = post.getProperty().getName();
+    /**
+     * Newest posts first, keyset-paginated on {@code (createdAt, id)}. The first page comes from the
+     * recent-posts buffer when it can answer it.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PostFeedResponse> getFeed(String cursor, int size) {
+        if (size <= 0 || size > MAX_FEED_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_FEED_PAGE_SIZE);
+        }
+        Limit limit = Limit.of(size + 1);
+        List<PostFeedResponse> posts;
+        if (cursor == null) {
+            posts = recentPostsBuffer.firstPage(size + 1);
+            if (posts == null) {
+                posts = postRepository.findFeedFirstPage(limit);
+            }
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            posts = postRepository.findFeedPageBefore(parseCursorTime(position), position.id(), limit);
+        }
 
-            return new PostResponse(
-                    post.getId(),
-                    username,
-                    propertyName,
-                    post.getProperty().getId()
-            );
-        }).collect(Collectors.toList());
+        boolean hasNext = posts.size() > size;
+        List<PostFeedResponse> page = hasNext ? posts.subList(0, size) : posts;
+        String nextCursor = null;
+        if (hasNext) {
+            PostFeedResponse last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt().toString(), last.id()).encode();
+        }
+        List<PostFeedResponse> items = page.stream()
+                .map(post -> post.withCommentCount(commentCounters.postCount(post.id())))
+                .toList();
+        return CursorPage.of(items, nextCursor);
     }
 
     @Transactional(readOnly = true)
@@ -112,7 +170,8 @@ public class PostService {
                                 post.getId(),
                                 user.getUsername(),
                                 post.getProperty().getName(),
-                                post.getProperty().getId()
+                                post.getProperty().getId(),
+                                commentCounters.postCount(post.getId())
                         )
                 ).collect(Collectors.toList());
     }
@@ -132,7 +191,8 @@ public class PostService {
                     post.getId(),
                     username,
                     propertyName,
-                    propertyId
+                    propertyId,
+                    commentCounters.postCount(post.getId())
             );
         }).collect(Collectors.toList());
     }
@@ -148,8 +208,29 @@ public class PostService {
             throw new UnauthorizedException("This post is not yours! U can't delete this post!");
         }
 
+        // the comments go with the post by cascade; their properties lose them too
+        Map<Long, Long> removedByProperty = post.getComments().stream()
+                .collect(Collectors.groupingBy(comment -> comment.getProperty().getId(), Collectors.counting()));
+
         postRepository.delete(post);
         log.info("Post deleted successfully with id: {}", postId);
+        removedByProperty.forEach((propertyId, count) ->
+                eventPublisher.publishEvent(new CommentChangedEvent(null, propertyId, -count.intValue())));
+        eventPublisher.publishEvent(new PostChangedEvent(postId, null));
+    }
+
+    private List<PostResponse> withCommentCounts(List<PostResponse> posts) {
+        return posts.stream()
+                .map(post -> post.withCommentCount(commentCounters.postCount(post.id())))
+                .toList();
+    }
+
+    private LocalDateTime parseCursorTime(KeysetCursor cursor) {
+        try {
+            return LocalDateTime.parse(cursor.sortKey());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
     }
 
     @Transactional
@@ -0,0 +1,196 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.exceptions.BadRequestException;
+import com.zekademirli.hostify.exceptions.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Prices stays in minor currency units. Each property gets a table of nightly rates (base price with
+ * weekend and peak-season surcharges) over a rolling horizon, stored as prefix sums so the nightly total
+ * of any stay inside the horizon is a single subtraction. Length-of-stay discount and service fee are
+ * applied on top, and finished quotes are cached per rate-table version. Both caches are LRU-bounded, since
+ * a table holds a long per day of the horizon for every property that has been quoted.
+ */
+@Slf4j
+@Service
+public class PricingEngine {
+
+    // the same range the availability calendar allows; keeps the fallback loop and the quote cache keys bounded
+    public static final int MAX_NIGHTS = 731;
+
+    private final PropertyCatalog propertyCatalog;
+    private final int horizonDays;
+    private final long serviceFeePercent;
+    private final long weekendSurchargePercent;
+    private final long peakSurchargePercent;
+    private final Set<Integer> peakMonths;
+    private final long longStayDiscountPercent;
+    private final int longStayMinNights;
+    private final int quoteCacheSize;
+    private final int rateTableCacheSize;
+
+    private final Map<Long, RateTable> rateTables;
+    private final Map<QuoteKey, Quote> quoteCache;
+    private final AtomicLong tableVersions = new AtomicLong();
+
+    public PricingEngine(PropertyCatalog propertyCatalog,
+                         @Value("${hostify.pricing.horizon-days:730}") int horizonDays,
+                         @Value("${hostify.pricing.service-fee-percent:10}") long serviceFeePercent,
+                         @Value("${hostify.pricing.weekend-surcharge-percent:0}") long weekendSurchargePercent,
+                         @Value("${hostify.pricing.peak-surcharge-percent:0}") long peakSurchargePercent,
+                         @Value("${hostify.pricing.peak-months:}") String peakMonths,
+                         @Value("${hostify.pricing.long-stay-discount-percent:0}") long longStayDiscountPercent,
+                         @Value("${hostify.pricing.long-stay-min-nights:7}") int longStayMinNights,
+                         @Value("${hostify.pricing.quote-cache-size:10000}") int quoteCacheSize,
+                         @Value("${hostify.pricing.rate-table-cache-size:5000}") int rateTableCacheSize) {
+        this.propertyCatalog = propertyCatalog;
+        this.horizonDays = horizonDays;
+        this.serviceFeePercent = serviceFeePercent;
+        this.weekendSurchargePercent = weekendSurchargePercent;
+        this.peakSurchargePercent = peakSurchargePercent;
+        this.peakMonths = Stream.of(peakMonths.split(","))
+                .map(String::trim)
+                .filter(month -> !month.isEmpty())
+                .map(Integer::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+        this.longStayDiscountPercent = longStayDiscountPercent;
+        this.longStayMinNights = longStayMinNights;
+        this.quoteCacheSize = quoteCacheSize;
+        this.quoteCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QuoteKey, Quote> eldest) {
+                return size() > PricingEngine.this.quoteCacheSize;
+            }
+        });
+        this.rateTableCacheSize = rateTableCacheSize;
+        this.rateTables = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RateTable> eldest) {
+                return size() > PricingEngine.this.rateTableCacheSize;
+            }
+        });
+    }
+
+    public Quote quote(Long propertyId, LocalDate checkIn, LocalDate checkOut) {
+        PropertyCatalog.Entry entry = propertyCatalog.get(propertyId);
+        if (entry == null) {
+            throw new ResourceNotFoundException("Property not found: " + propertyId);
+        }
+        if (checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            throw new BadRequestException("Check-out date must be after check-in date");
+        }
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw new BadRequestException("Check-in date cannot be in the past");
+        }
+        return quote(propertyId, entry.pricePerNight(), checkIn, checkOut);
+    }
+
+    public Quote quote(Long propertyId, double pricePerNight, LocalDate checkIn, LocalDate checkOut) {
+        if (checkOut.toEpochDay() - checkIn.toEpochDay() > MAX_NIGHTS) {
+            throw new BadRequestException("Stay cannot exceed " + MAX_NIGHTS + " nights");
+        }
+        RateTable table = rateTable(propertyId, toMinor(pricePerNight));
+        QuoteKey key = new QuoteKey(propertyId, table.version(), checkIn.toEpochDay(), checkOut.toEpochDay());
+        Quote cached = quoteCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Quote quote = price(table, key.fromDay(), key.toDay());
+        quoteCache.put(key, quote);
+        return quote;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.isDeleted() || event.before() == null || !event.after().isActive()
+                || !Objects.equals(event.before().pricePerNight(), event.after().pricePerNight())) {
+            rateTables.remove(event.propertyId());
+        }
+    }
+
+    private RateTable rateTable(Long propertyId, long basePriceMinor) {
+        long today = LocalDate.now().toEpochDay();
+        RateTable table = rateTables.get(propertyId);
+        if (table != null && table.basePriceMinor() == basePriceMinor && table.originDay() == today) {
+            return table;
+        }
+        RateTable rebuilt = buildRateTable(basePriceMinor, today);
+        rateTables.put(propertyId, rebuilt);
+        return rebuilt;
+    }
+
+    private RateTable buildRateTable(long basePriceMinor, long originDay) {
+        long[] prefix = new long[horizonDays + 1];
+        for (int i = 0; i < horizonDays; i++) {
+            prefix[i + 1] = prefix[i] + nightlyRate(basePriceMinor, originDay + i);
+        }
+        return new RateTable(tableVersions.incrementAndGet(), originDay, basePriceMinor, prefix);
+    }
+
+    private Quote price(RateTable table, long fromDay, long toDay) {
+        int nights = (int) (toDay - fromDay);
+        long nightsTotal;
+        long start = fromDay - table.originDay();
+        long end = toDay - table.originDay();
+        if (start >= 0 && end <= horizonDays) {
+            nightsTotal = table.prefix()[(int) end] - table.prefix()[(int) start];
+        } else {
+            nightsTotal = 0;
+            for (long day = fromDay; day < toDay; day++) {
+                nightsTotal += nightlyRate(table.basePriceMinor(), day);
+            }
+        }
+        long discount = nights >= longStayMinNights ? percentOf(nightsTotal, longStayDiscountPercent) : 0;
+        long serviceFee = percentOf(nightsTotal - discount, serviceFeePercent);
+        return new Quote(nights, nightsTotal, discount, serviceFee, nightsTotal - discount + serviceFee);
+    }
+
+    private long nightlyRate(long basePriceMinor, long epochDay) {
+        LocalDate night = LocalDate.ofEpochDay(epochDay);
+        long rate = basePriceMinor;
+        DayOfWeek dayOfWeek = night.getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.FRIDAY || dayOfWeek == DayOfWeek.SATURDAY) {
+            rate += percentOf(basePriceMinor, weekendSurchargePercent);
+        }
+        if (peakMonths.contains(night.getMonthValue())) {
+            rate += percentOf(basePriceMinor, peakSurchargePercent);
+        }
+        return rate;
+    }
+
+    private static long percentOf(long amountMinor, long percent) {
+        return (amountMinor * percent + 50) / 100;
+    }
+
+    public static long toMinor(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    public static double fromMinor(long amountMinor) {
+        return amountMinor / 100.0;
+    }
+
+    public record Quote(int nights, long nightsTotalMinor, long discountMinor, long serviceFeeMinor, long totalMinor) {
+    }
+
+    private record RateTable(long version, long originDay, long basePriceMinor, long[] prefix) {
+    }
+
+    private record QuoteKey(Long propertyId, long tableVersion, long fromDay, long toDay) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.response.AvailabilityCalendarResponse;
+import com.zekademirli.hostify.dto.response.PropertyResponse;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.exceptions.BadRequestException;
+import com.zekademirli.hostify.exceptions.ResourceNotFoundException;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PropertyAvailabilityService {
+
+    private static final int MAX_CALENDAR_DAYS = 731;
+
+    private final PropertyCatalog propertyCatalog;
+    private final AvailabilityIndex availabilityIndex;
+    private final PropertyRepository propertyRepository;
+
+    @Transactional(readOnly = true)
+    public Page<PropertyResponse> findAvailableProperties(LocalDate checkIn, LocalDate checkOut, Integer guests,
+                                                          RoomCategory category, Pageable pageable) {
+        validateSearch(checkIn, checkOut, guests, pageable);
+
+        long fromDay = checkIn.toEpochDay();
+        long toDay = checkOut.toEpochDay();
+        long offset = pageable.getOffset();
+        int pageSize = pageable.getPageSize();
+        int minGuests = guests == null ? 0 : guests;
+
+        List<Long> pageIds = new ArrayList<>(pageSize);
+        long total = 0;
+        for (PropertyCatalog.Entry entry : propertyCatalog.entries()) {
+            if (!entry.active()
+                    || entry.maxGuests() < minGuests
+                    || (category != null && entry.category() != category)
+                    || !availabilityIndex.isFree(entry.id(), fromDay, toDay)) {
+                continue;
+            }
+            if (total >= offset && pageIds.size() < pageSize) {
+                pageIds.add(entry.id());
+            }
+            total++;
+        }
+        log.info("Found {} available properties between {} and {}", total, checkIn, checkOut);
+
+        // one projection query for the page; the mapper would have loaded each owner lazily
+        Map<Long, PropertyResponse> properties = pageIds.isEmpty() ? Map.of()
+                : propertyRepository.findResponsesByIdIn(pageIds).stream()
+                        .collect(Collectors.toMap(PropertyResponse::id, Function.identity()));
+        List<PropertyResponse> content = pageIds.stream()
+                .map(properties::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    public CalendarView getCalendar(Long propertyId, LocalDate from, LocalDate to) {
+        if (propertyCatalog.get(propertyId) == null) {
+            throw new ResourceNotFoundException("Property not found: " + propertyId);
+        }
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new BadRequestException("Calendar 'to' date must be after 'from' date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_CALENDAR_DAYS) {
+            throw new BadRequestException("Calendar range cannot exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+        AvailabilityIndex.BookedNights booked = availabilityIndex.bookedNights(propertyId, from, to);
+        return new CalendarView("\"" + propertyId + "-" + booked.version() + "\"", booked.nights());
+    }
+
+    public AvailabilityCalendarResponse toCalendarResponse(Long propertyId, LocalDate from, LocalDate to,
+                                                           CalendarView view, boolean bitmap) {
+        AvailabilityCalendarResponse.AvailabilityCalendarResponseBuilder builder = AvailabilityCalendarResponse.builder()
+                .propertyId(propertyId)
+                .from(from)
+                .to(to);
+        if (bitmap) {
+            return builder.bitmap(Base64.getEncoder().encodeToString(view.nights().toByteArray())).build();
+        }
+        return builder.bookedRuns(toRuns(view.nights())).build();
+    }
+
+    private int[] toRuns(BitSet nights) {
+        int[] runs = new int[nights.cardinality() * 2];
+        int length = 0;
+        for (int start = nights.nextSetBit(0); start >= 0; ) {
+            int end = nights.nextClearBit(start);
+            runs[length++] = start;
+            runs[length++] = end - start;
+            start = nights.nextSetBit(end);
+        }
+        return Arrays.copyOf(runs, length);
+    }
+
+    private void validateSearch(LocalDate checkIn, LocalDate checkOut, Integer guests, Pageable pageable) {
+        if (checkIn == null || checkOut == null) {
+            throw new BadRequestException("Check-in and check-out dates are required");
+        }
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw new BadRequestException("Check-in date cannot be in the past");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new BadRequestException("Check-out date must be after check-in date");
+        }
+        if (guests != null && guests <= 0) {
+            throw new BadRequestException("Guests must be positive");
+        }
+        if (pageable.getPageSize() > 100) {
+            throw new BadRequestException("Page size cannot exceed 100");
+        }
+    }
+
+    public record CalendarView(String etag, BitSet nights) {
+    }
+}
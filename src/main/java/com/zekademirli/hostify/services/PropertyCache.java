@@ -0,0 +1,56 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertySummary;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class PropertyCache {
+
+    private final BoundedCache<Long, PropertySummary> summaries;
+    private final BoundedCache<Long, PropertyService.PropertyDetail> details;
+
+    public PropertyCache(@Value("${hostify.cache.property.enabled:true}") boolean enabled,
+                         @Value("${hostify.cache.property.max-size:10000}") int maxSize,
+                         @Value("${hostify.cache.property.ttl:PT10M}") Duration ttl) {
+        this.summaries = new BoundedCache<>("property-summary", enabled, maxSize, ttl.toMillis());
+        this.details = new BoundedCache<>("property-detail", enabled, maxSize, ttl.toMillis());
+    }
+
+    public PropertySummary getSummary(Long propertyId, Function<Long, PropertySummary> loader) {
+        return summaries.get(propertyId, loader);
+    }
+
+    public PropertyService.PropertyDetail getDetail(Long propertyId,
+                                                    Function<Long, PropertyService.PropertyDetail> loader) {
+        return details.get(propertyId, loader);
+    }
+
+    public void invalidate(Long propertyId) {
+        summaries.invalidate(propertyId);
+        details.invalidate(propertyId);
+    }
+
+    // a reader may have re-cached the old row between the in-transaction invalidation and the commit
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        invalidate(event.propertyId());
+    }
+
+    @Scheduled(fixedDelayString = "${hostify.cache.property.report-interval-ms:300000}")
+    public void reportStats() {
+        for (BoundedCache.Stats stats : new BoundedCache.Stats[]{summaries.stats(), details.stats()}) {
+            log.info("Cache {} (enabled={}): size={}, hits={}, misses={}, hit ratio={}",
+                    stats.name(), stats.enabled(), stats.size(), stats.hits(), stats.misses(),
+                    String.format("%.3f", stats.hitRatio()));
+        }
+    }
+}
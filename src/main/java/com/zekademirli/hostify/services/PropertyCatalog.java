@@ -0,0 +1,75 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory, id-ordered view of the attributes listing filters need, kept in sync with
+ * {@link PropertyChangedEvent}s so scans over the whole catalog never go to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PropertyCatalog {
+
+    private final PropertyRepository propertyRepository;
+    private final ConcurrentNavigableMap<Long, Entry> entries = new ConcurrentSkipListMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<PropertySnapshot> snapshots = propertyRepository.findAllSnapshots();
+        snapshots.forEach(this::put);
+        log.info("Property catalog loaded {} properties", snapshots.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.isDeleted()) {
+            entries.remove(event.propertyId());
+        } else {
+            put(event.after());
+        }
+    }
+
+    public Collection<Entry> entries() {
+        return entries.values();
+    }
+
+    public Entry get(Long propertyId) {
+        return entries.get(propertyId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(PropertySnapshot snapshot) {
+        entries.put(snapshot.id(), new Entry(
+                snapshot.id(),
+                snapshot.ownerId(),
+                snapshot.category(),
+                snapshot.maxGuests(),
+                snapshot.pricePerNight(),
+                snapshot.isActive()
+        ));
+    }
+
+    public record Entry(long id, Long ownerId, RoomCategory category, int maxGuests,
+                        double pricePerNight, boolean active) {
+    }
+}
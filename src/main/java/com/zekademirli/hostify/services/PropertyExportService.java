@@ -0,0 +1,84 @@
+package com.zekademirli.hostify.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zekademirli.hostify.dto.response.PropertyResponse;
+import com.zekademirli.hostify.enums.RoomCategory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the whole catalog as newline-delimited JSON. Rows are read through a server-side cursor with a
+ * fixed fetch size and written as they arrive, so heap use does not depend on the number of properties.
+ */
+@Slf4j
+@Service
+public class PropertyExportService {
+
+    private static final String EXPORT_SQL = "select id, owner_id, name, description, address, price_per_night, " +
+            "max_guests, category, latitude, longitude, comment_count from \"property\" " +
+            // same rows as PropertyRepository.LISTED
+            "where is_active and deletion_requested_at is null order by id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public PropertyExportService(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${hostify.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // the Postgres driver only streams with a fetch size when auto-commit is off
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public void exportNdjson(OutputStream outputStream) {
+        long start = System.nanoTime();
+        OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+        long[] rows = new long[1];
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_SQL, (RowCallbackHandler) resultSet -> {
+            PropertyResponse response = PropertyResponse.builder()
+                    .id(resultSet.getLong("id"))
+                    .ownerId(resultSet.getLong("owner_id"))
+                    .name(resultSet.getString("name"))
+                    .description(resultSet.getString("description"))
+                    .address(resultSet.getString("address"))
+                    .pricePerNight(resultSet.getDouble("price_per_night"))
+                    .maxGuests(resultSet.getInt("max_guests"))
+                    .category(RoomCategory.valueOf(resultSet.getString("category")))
+                    .latitude(resultSet.getObject("latitude", Double.class))
+                    .longitude(resultSet.getObject("longitude", Double.class))
+                    .commentCount(resultSet.getLong("comment_count"))
+                    .build();
+            try {
+                out.write(objectMapper.writeValueAsBytes(response));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        }));
+
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Exported {} properties in {} ms", rows[0], (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,272 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertyFacetGroup;
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.dto.response.PropertyFacetsResponse;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Counts of active properties per category, price bucket and guest-capacity bucket, held in
+ * {@link LongAdder}s and moved by {@link PropertyChangedEvent}s. A scheduled reconcile compares them with a
+ * GROUP BY over the table and corrects any drift. A count is only trusted when no property write committed
+ * while it ran, since such a write may be in the GROUP BY with its event still to come. Until the first count
+ * succeeds the counters are not used and facets are computed from the table.
+ */
+@Slf4j
+@Service
+public class PropertyFacetService {
+
+    private static final RoomCategory[] CATEGORIES = RoomCategory.values();
+    private static final int LOAD_ATTEMPTS = 5;
+
+    private final PropertyRepository propertyRepository;
+    private final double[] priceBounds;
+    private final int[] guestBounds;
+    private final LongAdder total = new LongAdder();
+    private final LongAdder[] categoryCounts = adders(CATEGORIES.length);
+    private final LongAdder[] priceCounts;
+    private final LongAdder[] guestCounts;
+    private final AtomicLong changes = new AtomicLong();
+    // property transactions between their before-commit and after-completion phases
+    private final AtomicLong committing = new AtomicLong();
+    // event handlers share it; a reconcile takes it exclusively to check for changes and correct in one step
+    private final ReentrantReadWriteLock countersLock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public PropertyFacetService(PropertyRepository propertyRepository,
+                                @Value("${hostify.facets.price-bounds:50,100,200,500}") double[] priceBounds,
+                                @Value("${hostify.facets.guest-bounds:3,5,9}") int[] guestBounds) {
+        this.propertyRepository = propertyRepository;
+        this.priceBounds = priceBounds.clone();
+        this.guestBounds = guestBounds.clone();
+        Arrays.sort(this.priceBounds);
+        Arrays.sort(this.guestBounds);
+        this.priceCounts = adders(this.priceBounds.length + 1);
+        this.guestCounts = adders(this.guestBounds.length + 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (int attempt = 1; attempt <= LOAD_ATTEMPTS; attempt++) {
+            if (tryReconcile(false)) {
+                log.info("Facet counts loaded for {} active properties", total.sum());
+                return;
+            }
+        }
+        log.warn("Facet counts could not be loaded, the catalog kept changing; facets are counted in the database "
+                + "until a reconcile succeeds");
+    }
+
+    // the write becomes visible to a GROUP BY before its after-commit event arrives, so mark it as on its way
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPropertyCommitting(PropertyChangedEvent event) {
+        committing.incrementAndGet();
+        changes.incrementAndGet();
+        // registered after the after-commit listener, so it runs once the delta has been applied
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                committing.decrementAndGet();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        countersLock.readLock().lock();
+        try {
+            // before the first count the deltas would land on zeroed counters; the count will include them
+            if (loaded) {
+                apply(event.before(), -1);
+                apply(event.after(), 1);
+            }
+            changes.incrementAndGet();
+        } finally {
+            countersLock.readLock().unlock();
+        }
+    }
+
+    public PropertyFacetsResponse getFacets() {
+        if (!loaded) {
+            Counts counts = count(propertyRepository.countActiveByFacets());
+            return toResponse(counts.total(), counts.categories(), counts.prices(), counts.guests());
+        }
+        long[] categories = new long[categoryCounts.length];
+        long[] prices = new long[priceCounts.length];
+        long[] guests = new long[guestCounts.length];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = categoryCounts[i].sum();
+        }
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = priceCounts[i].sum();
+        }
+        for (int i = 0; i < guests.length; i++) {
+            guests[i] = guestCounts[i].sum();
+        }
+        return toResponse(total.sum(), categories, prices, guests);
+    }
+
+    private PropertyFacetsResponse toResponse(long totalCount, long[] categoryValues, long[] priceValues,
+                                              long[] guestValues) {
+        Map<RoomCategory, Long> categories = new EnumMap<>(RoomCategory.class);
+        for (RoomCategory category : CATEGORIES) {
+            categories.put(category, categoryValues[category.ordinal()]);
+        }
+        List<PropertyFacetsResponse.Bucket> prices = new ArrayList<>(priceValues.length);
+        for (int i = 0; i < priceValues.length; i++) {
+            prices.add(new PropertyFacetsResponse.Bucket(priceLabel(i), priceValues[i]));
+        }
+        List<PropertyFacetsResponse.Bucket> guests = new ArrayList<>(guestValues.length);
+        for (int i = 0; i < guestValues.length; i++) {
+            guests.add(new PropertyFacetsResponse.Bucket(guestLabel(i), guestValues[i]));
+        }
+        return new PropertyFacetsResponse(totalCount, categories, prices, guests);
+    }
+
+    @Scheduled(initialDelayString = "${hostify.facets.reconcile-interval-ms:600000}",
+            fixedDelayString = "${hostify.facets.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        if (!tryReconcile(true)) {
+            log.debug("Skipping facet reconcile, catalog changed while counting");
+        }
+    }
+
+    private boolean tryReconcile(boolean reportDrift) {
+        long changesBefore = changes.get();
+        Counts expected = count(propertyRepository.countActiveByFacets());
+
+        long drift;
+        boolean firstLoad;
+        countersLock.writeLock().lock();
+        try {
+            if (changes.get() != changesBefore || committing.get() != 0) {
+                // a write committed while counting; it may be in the result with its event still to come
+                return false;
+            }
+            drift = correct(total, expected.total())
+                    + correct(categoryCounts, expected.categories())
+                    + correct(priceCounts, expected.prices())
+                    + correct(guestCounts, expected.guests());
+            firstLoad = !loaded;
+            loaded = true;
+        } finally {
+            countersLock.writeLock().unlock();
+        }
+        if (drift > 0 && reportDrift && !firstLoad) {
+            log.warn("Facet counts drifted by {} and were corrected against the database", drift);
+        } else if (drift == 0) {
+            log.debug("Facet counts match the database ({} active properties)", expected.total());
+        }
+        return true;
+    }
+
+    private Counts count(List<PropertyFacetGroup> groups) {
+        long expectedTotal = 0;
+        long[] categories = new long[categoryCounts.length];
+        long[] prices = new long[priceCounts.length];
+        long[] guests = new long[guestCounts.length];
+        for (PropertyFacetGroup group : groups) {
+            expectedTotal += group.count();
+            categories[group.category().ordinal()] += group.count();
+            prices[priceBucket(group.pricePerNight())] += group.count();
+            guests[guestBucket(group.maxGuests())] += group.count();
+        }
+        return new Counts(expectedTotal, categories, prices, guests);
+    }
+
+    private void apply(PropertySnapshot snapshot, int delta) {
+        if (snapshot == null || !snapshot.isActive()) {
+            return;
+        }
+        total.add(delta);
+        categoryCounts[snapshot.category().ordinal()].add(delta);
+        priceCounts[priceBucket(snapshot.pricePerNight())].add(delta);
+        guestCounts[guestBucket(snapshot.maxGuests())].add(delta);
+    }
+
+    private int priceBucket(Double price) {
+        double value = price == null ? 0 : price;
+        int bucket = 0;
+        while (bucket < priceBounds.length && value >= priceBounds[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private int guestBucket(Integer maxGuests) {
+        int value = maxGuests == null ? 0 : maxGuests;
+        int bucket = 0;
+        while (bucket < guestBounds.length && value >= guestBounds[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private String priceLabel(int bucket) {
+        if (bucket == priceBounds.length) {
+            return format(priceBounds[bucket - 1]) + "+";
+        }
+        return format(bucket == 0 ? 0 : priceBounds[bucket - 1]) + "-" + format(priceBounds[bucket]);
+    }
+
+    private String guestLabel(int bucket) {
+        int from = bucket == 0 ? 1 : guestBounds[bucket - 1];
+        if (bucket == guestBounds.length) {
+            return from + "+";
+        }
+        int to = guestBounds[bucket] - 1;
+        return from == to ? String.valueOf(from) : from + "-" + to;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private static long correct(LongAdder counter, long expected) {
+        long difference = expected - counter.sum();
+        if (difference != 0) {
+            counter.add(difference);
+        }
+        return Math.abs(difference);
+    }
+
+    private static long correct(LongAdder[] counters, long[] expected) {
+        long drift = 0;
+        for (int i = 0; i < counters.length; i++) {
+            drift += correct(counters[i], expected[i]);
+        }
+        return drift;
+    }
+
+    private record Counts(long total, long[] categories, long[] prices, long[] guests) {
+    }
+
+    private static LongAdder[] adders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,234 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Uniform latitude/longitude grid over property locations. A radius or bounding-box query only visits the
+ * cells overlapping the searched area and falls back to a full scan when that would touch more cells than
+ * there are properties. Properties without stored coordinates are placed by geocoding their address.
+ */
+@Slf4j
+@Component
+public class PropertyGeoIndex {
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final PropertyRepository propertyRepository;
+    private final Gazetteer gazetteer;
+    private final double cellDegrees;
+    private final long columns;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Set<Long>> cells = new HashMap<>();
+    private final Map<Long, Location> locations = new HashMap<>();
+
+    public PropertyGeoIndex(PropertyRepository propertyRepository,
+                            Gazetteer gazetteer,
+                            @Value("${hostify.geo.cell-degrees:0.05}") double cellDegrees) {
+        this.propertyRepository = propertyRepository;
+        this.gazetteer = gazetteer;
+        this.cellDegrees = cellDegrees;
+        this.columns = (long) Math.ceil(360 / cellDegrees) + 1;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<PropertySnapshot> snapshots = propertyRepository.findAllSnapshots();
+        lock.writeLock().lock();
+        try {
+            snapshots.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Geo index placed {} of {} properties in {} cells", locations.size(), snapshots.size(), cells.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.propertyId());
+            if (!event.isDeleted()) {
+                put(event.after());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active properties within {@code radiusKm} of the center, nearest first, at most {@code limit}.
+     */
+    public List<Hit> withinRadius(GeoPoint center, double radiusKm, RoomCategory category, int limit) {
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        double cos = Math.max(0.01, Math.cos(Math.toRadians(center.latitude())));
+        double longitudeSpan = Math.min(180, radiusKm / (KM_PER_DEGREE * cos));
+
+        PriorityQueue<Hit> nearest = new PriorityQueue<>(Comparator.comparingDouble(Hit::distanceKm).reversed());
+        lock.readLock().lock();
+        try {
+            visit(center.latitude() - latitudeSpan, center.longitude() - longitudeSpan,
+                    center.latitude() + latitudeSpan, center.longitude() + longitudeSpan, (id, location) -> {
+                        if (!location.matches(category)) {
+                            return;
+                        }
+                        double distance = center.distanceKm(location.latitude(), location.longitude());
+                        if (distance <= radiusKm) {
+                            nearest.add(new Hit(id, distance));
+                            if (nearest.size() > limit) {
+                                nearest.poll();
+                            }
+                        }
+                    });
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Hit> hits = new ArrayList<>(nearest);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::propertyId));
+        return hits;
+    }
+
+    /**
+     * Ids of active properties inside the box, in no particular order, at most {@code limit}.
+     */
+    public List<Long> withinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                RoomCategory category, int limit) {
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            visit(minLatitude, minLongitude, maxLatitude, maxLongitude, (id, location) -> {
+                if (ids.size() < limit
+                        && location.matches(category)
+                        && location.latitude() >= minLatitude && location.latitude() <= maxLatitude
+                        && location.longitude() >= minLongitude && location.longitude() <= maxLongitude) {
+                    ids.add(id);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return locations.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // calls the visitor for every indexed property in the cells overlapping the box; callers hold the read lock.
+    // Longitudes outside [-180, 180], as a radius near the antimeridian produces, wrap around to the other side.
+    private void visit(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                       LocationVisitor visitor) {
+        long firstRow = row(Math.max(-90, minLatitude));
+        long lastRow = row(Math.min(90, maxLatitude));
+        List<long[]> columnSpans = new ArrayList<>(2);
+        if (maxLongitude - minLongitude >= 360) {
+            columnSpans.add(new long[]{column(-180), column(180)});
+        } else if (minLongitude < -180) {
+            columnSpans.add(new long[]{column(minLongitude + 360), column(180)});
+            columnSpans.add(new long[]{column(-180), column(Math.min(180, maxLongitude))});
+        } else if (maxLongitude > 180) {
+            columnSpans.add(new long[]{column(minLongitude), column(180)});
+            columnSpans.add(new long[]{column(-180), column(maxLongitude - 360)});
+        } else {
+            columnSpans.add(new long[]{column(minLongitude), column(maxLongitude)});
+        }
+        if (columnSpans.size() == 2 && columnSpans.get(1)[1] >= columnSpans.get(0)[0]) {
+            // the wrapped halves share a column, so a cell would be visited twice
+            columnSpans = List.of(new long[]{column(-180), column(180)});
+        }
+
+        long cellCount = 0;
+        for (long[] span : columnSpans) {
+            cellCount += (lastRow - firstRow + 1) * (span[1] - span[0] + 1);
+        }
+        if (cellCount > locations.size()) {
+            locations.forEach(visitor::visit);
+            return;
+        }
+        for (long row = firstRow; row <= lastRow; row++) {
+            for (long[] span : columnSpans) {
+                for (long column = span[0]; column <= span[1]; column++) {
+                    Set<Long> ids = cells.get(row * columns + column);
+                    if (ids != null) {
+                        for (Long id : ids) {
+                            visitor.visit(id, locations.get(id));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void put(PropertySnapshot snapshot) {
+        GeoPoint point = GeoPoint.isValid(snapshot.latitude(), snapshot.longitude())
+                ? new GeoPoint(snapshot.latitude(), snapshot.longitude())
+                : gazetteer.geocode(snapshot.address()).orElse(null);
+        if (point == null) {
+            return;
+        }
+        long cell = row(point.latitude()) * columns + column(point.longitude());
+        locations.put(snapshot.id(), new Location(point.latitude(), point.longitude(), cell,
+                snapshot.category(), snapshot.isActive()));
+        cells.computeIfAbsent(cell, key -> new HashSet<>()).add(snapshot.id());
+    }
+
+    private void remove(Long propertyId) {
+        Location location = locations.remove(propertyId);
+        if (location == null) {
+            return;
+        }
+        Set<Long> ids = cells.get(location.cell());
+        ids.remove(propertyId);
+        if (ids.isEmpty()) {
+            cells.remove(location.cell());
+        }
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private long column(double longitude) {
+        return (long) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    @FunctionalInterface
+    private interface LocationVisitor {
+        void visit(Long id, Location location);
+    }
+
+    private record Location(double latitude, double longitude, long cell, RoomCategory category, boolean active) {
+
+        private boolean matches(RoomCategory wanted) {
+            return active && (wanted == null || wanted == category);
+        }
+    }
+
+    public record Hit(long propertyId, double distanceKm) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.response.NearbyPropertyResponse;
+import com.zekademirli.hostify.dto.response.PropertyResponse;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.exceptions.BadRequestException;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PropertyGeoService {
+
+    private static final double MAX_RADIUS_KM = 500;
+    private static final int MAX_LIMIT = 100;
+
+    private final PropertyGeoIndex propertyGeoIndex;
+    private final PropertyRepository propertyRepository;
+
+    @Transactional(readOnly = true)
+    public List<NearbyPropertyResponse> findNearby(Double latitude, Double longitude, double radiusKm,
+                                                   RoomCategory category, int limit) {
+        if (!GeoPoint.isValid(latitude, longitude)) {
+            throw new BadRequestException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new BadRequestException("Radius must be greater than 0 and at most " + MAX_RADIUS_KM + " km");
+        }
+        validateLimit(limit);
+
+        List<PropertyGeoIndex.Hit> hits = propertyGeoIndex.withinRadius(
+                new GeoPoint(latitude, longitude), radiusKm, category, limit);
+        log.info("Found {} properties within {} km of {},{}", hits.size(), radiusKm, latitude, longitude);
+
+        Map<Long, PropertyResponse> properties = loadResponses(hits.stream().map(PropertyGeoIndex.Hit::propertyId).toList());
+        return hits.stream()
+                .filter(hit -> properties.containsKey(hit.propertyId()))
+                .map(hit -> new NearbyPropertyResponse(properties.get(hit.propertyId()), hit.distanceKm()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<PropertyResponse> findWithinBox(Double minLatitude, Double minLongitude, Double maxLatitude,
+                                                Double maxLongitude, RoomCategory category, int limit) {
+        if (!GeoPoint.isValid(minLatitude, minLongitude) || !GeoPoint.isValid(maxLatitude, maxLongitude)) {
+            throw new BadRequestException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new BadRequestException("Minimum corner must be south-west of the maximum corner");
+        }
+        validateLimit(limit);
+
+        List<Long> ids = propertyGeoIndex.withinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, category, limit);
+        Map<Long, PropertyResponse> properties = loadResponses(ids);
+        return ids.stream()
+                .map(properties::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Map<Long, PropertyResponse> loadResponses(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return propertyRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PropertyResponse::id, Function.identity()));
+    }
+
+    private void validateLimit(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
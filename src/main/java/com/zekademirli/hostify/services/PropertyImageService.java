@@ -0,0 +1,248 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertySummary;
+import com.zekademirli.hostify.dto.response.PropertyImageResponse;
+import com.zekademirli.hostify.entities.PropertyImage;
+import com.zekademirli.hostify.enums.ImageVariant;
+import com.zekademirli.hostify.exceptions.BadRequestException;
+import com.zekademirli.hostify.exceptions.ResourceNotFoundException;
+import com.zekademirli.hostify.exceptions.UnauthorizedException;
+import com.zekademirli.hostify.repository.PropertyImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class PropertyImageService {
+
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final String JPEG = "image/jpeg";
+    private static final String PNG = "image/png";
+
+    private final PropertyImageRepository propertyImageRepository;
+    private final PropertyService propertyService;
+    private final ImageStorage imageStorage;
+    private final ImageThumbnailService imageThumbnailService;
+    private final long maxPixels;
+
+    public PropertyImageService(PropertyImageRepository propertyImageRepository,
+                                PropertyService propertyService,
+                                ImageStorage imageStorage,
+                                ImageThumbnailService imageThumbnailService,
+                                @Value("${hostify.images.max-pixels:40000000}") long maxPixels) {
+        this.propertyImageRepository = propertyImageRepository;
+        this.propertyService = propertyService;
+        this.imageStorage = imageStorage;
+        this.imageThumbnailService = imageThumbnailService;
+        this.maxPixels = maxPixels;
+    }
+
+    @Transactional
+    public PropertyImageResponse upload(Long propertyId, Long ownerId, MultipartFile file) {
+        PropertySummary property = propertyService.getPropertySummary(propertyId);
+        if (ownerId == null || !property.ownerId().equals(ownerId)) {
+            throw new UnauthorizedException("You can only add images to your own properties");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Image file is required");
+        }
+
+        Path temp = null;
+        try {
+            temp = imageStorage.createTempFile();
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String contentType = detectContentType(temp);
+            int[] dimensions = readDimensions(temp);
+
+            PropertyImage image = new PropertyImage();
+            image.setProperty(propertyService.getPropertyReference(propertyId));
+            image.setContentType(contentType);
+            image.setSizeBytes(Files.size(temp));
+            image.setWidth(dimensions[0]);
+            image.setHeight(dimensions[1]);
+            image.setSha256(HexFormat.of().formatHex(digest.digest()));
+            PropertyImage saved = propertyImageRepository.save(image);
+
+            imageStorage.moveIntoPlace(temp, imageStorage.pathOf(propertyId, saved.getId(), ImageVariant.ORIGINAL));
+            onCompletion(saved.getId(), propertyId);
+            log.info("Stored image {} ({} bytes) for property {}", saved.getId(), saved.getSizeBytes(), propertyId);
+            return toResponse(saved);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image for property " + propertyId, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<PropertyImageResponse> getImages(Long propertyId) {
+        propertyService.getPropertySummary(propertyId);
+        return propertyImageRepository.findAllByPropertyIdOrderById(propertyId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Locates the file for a variant. A resized variant that has not been generated yet falls back to the
+     * original, flagged as not final so it is not cached as immutable.
+     */
+    @Transactional(readOnly = true)
+    public StoredImage getImageFile(Long propertyId, Long imageId, String variantName) {
+        ImageVariant variant = parseVariant(variantName);
+        PropertyImage image = propertyImageRepository.findByIdAndPropertyId(imageId, propertyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found with ID: " + imageId));
+
+        String sha256 = image.sha256Of(variant);
+        if (sha256 == null) {
+            return new StoredImage(imageStorage.pathOf(propertyId, imageId, ImageVariant.ORIGINAL),
+                    image.getContentType(), image.getSha256(), false);
+        }
+        String contentType = variant == ImageVariant.ORIGINAL ? image.getContentType() : JPEG;
+        return new StoredImage(imageStorage.pathOf(propertyId, imageId, variant), contentType, sha256, true);
+    }
+
+    private static ImageVariant parseVariant(String variantName) {
+        if (variantName == null || variantName.isBlank()) {
+            return ImageVariant.ORIGINAL;
+        }
+        try {
+            return ImageVariant.valueOf(variantName.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Variant must be one of: original, medium, thumbnail");
+        }
+    }
+
+    private PropertyImageResponse toResponse(PropertyImage image) {
+        Long propertyId = image.getProperty().getId();
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (ImageVariant variant : ImageVariant.values()) {
+            String name = variant.name().toLowerCase(Locale.ROOT);
+            urls.put(name, "/api/properties/" + propertyId + "/images/" + image.getId() + "?variant=" + name);
+        }
+        return PropertyImageResponse.builder()
+                .id(image.getId())
+                .propertyId(propertyId)
+                .contentType(image.getContentType())
+                .sizeBytes(image.getSizeBytes())
+                .width(image.getWidth())
+                .height(image.getHeight())
+                .variantsReady(image.hasVariants())
+                .urls(urls)
+                .createdAt(image.getCreatedAt())
+                .build();
+    }
+
+    // removes the moved file if the insert rolls back, and queues the variants once the row is visible
+    private void onCompletion(Long imageId, Long propertyId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            imageThumbnailService.submit(imageId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    imageThumbnailService.submit(imageId);
+                } else {
+                    imageStorage.deleteImage(propertyId, imageId);
+                }
+            }
+        });
+    }
+
+    private static String detectContentType(Path file) throws IOException {
+        byte[] header = new byte[PNG_MAGIC.length];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        if (read >= JPEG_MAGIC.length && Arrays.equals(header, 0, JPEG_MAGIC.length, JPEG_MAGIC, 0, JPEG_MAGIC.length)) {
+            return JPEG;
+        }
+        if (read == PNG_MAGIC.length && Arrays.equals(header, PNG_MAGIC)) {
+            return PNG;
+        }
+        throw new BadRequestException("Only JPEG and PNG images are supported");
+    }
+
+    // reads only the header, the pixels are decoded later by the thumbnail workers. A small file can declare
+    // huge dimensions, and decoding allocates four bytes per pixel, so the pixel count is capped here.
+    private int[] readDimensions(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new BadRequestException("Image cannot be read");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new BadRequestException("Image is " + width + "x" + height
+                            + " pixels; at most " + maxPixels + " pixels are allowed");
+                }
+                return new int[]{width, height};
+            } catch (IOException e) {
+                throw new BadRequestException("Image is corrupt: " + e.getMessage());
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * A stored variant ready to be sent. {@code sha256} is the strong ETag value; {@code immutable} is false
+     * when the original is standing in for a variant that is still being generated.
+     */
+    public record StoredImage(Path path, String contentType, String sha256, boolean immutable) {
+    }
+}
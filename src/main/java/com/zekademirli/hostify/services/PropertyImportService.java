@@ -0,0 +1,393 @@
+package com.zekademirli.hostify.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.dto.request.AddPropertyRequest;
+import com.zekademirli.hostify.dto.response.PropertyImportResponse;
+import com.zekademirli.hostify.entities.Property;
+import com.zekademirli.hostify.entities.User;
+import com.zekademirli.hostify.enums.ImportFormat;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.exceptions.BadRequestException;
+import com.zekademirli.hostify.exceptions.PropertyValidationException;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports properties from a CSV or JSON-lines stream without holding the input in memory. Rows are read in
+ * chunks; each chunk is parsed and validated in parallel, its owners are resolved with one query, and it is
+ * inserted in its own transaction so sequence-allocated ids let Hibernate batch the inserts. Bad rows are
+ * reported by line number and never fail the rows around them: a chunk the database rejects is retried in
+ * halves until the offending rows are isolated.
+ */
+@Slf4j
+@Service
+public class PropertyImportService {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "name", "description", "category", "address", "pricePerNight", "maxGuest", "ownerId"
+    );
+
+    private final PropertyService propertyService;
+    private final UserService userService;
+    private final PropertyRepository propertyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public PropertyImportService(PropertyService propertyService,
+                                 UserService userService,
+                                 PropertyRepository propertyRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${hostify.import.chunk-size:500}") int chunkSize,
+                                 @Value("${hostify.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.propertyService = propertyService;
+        this.userService = userService;
+        this.propertyRepository = propertyRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public PropertyImportResponse importProperties(InputStream input, ImportFormat format) {
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            RecordReader records = format == ImportFormat.CSV ? new CsvRecordReader(reader) : new JsonLinesRecordReader(reader);
+            List<RawRow> chunk = new ArrayList<>(chunkSize);
+            RawRow row;
+            while ((row = records.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, progress);
+                    chunk.clear();
+                    log.info("Import progress: {} rows, {} imported, {} failed, {} rows/s",
+                            progress.rows, progress.imported, progress.failed,
+                            String.format("%.0f", rowsPerSecond(progress.rows, start)));
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, progress);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read import input", e);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        double rowsPerSecond = rowsPerSecond(progress.rows, start);
+        log.info("Imported {} of {} properties in {} ms ({} rows/s), {} rows failed",
+                progress.imported, progress.rows, elapsedMillis, String.format("%.0f", rowsPerSecond), progress.failed);
+        return new PropertyImportResponse(progress.rows, progress.imported, progress.failed,
+                elapsedMillis, rowsPerSecond, progress.errors);
+    }
+
+    private void importChunk(List<RawRow> chunk, Progress progress) {
+        progress.rows += chunk.size();
+
+        List<ParsedRow> parsed = chunk.parallelStream()
+                .map(this::parse)
+                .toList();
+
+        Set<Long> ownerIds = parsed.stream()
+                .filter(row -> row.error() == null)
+                .map(row -> row.request().ownerId())
+                .collect(Collectors.toSet());
+        Map<Long, User> owners = ownerIds.isEmpty() ? Map.of() : userService.getUsersByIds(ownerIds);
+
+        List<BuiltRow> built = parsed.parallelStream()
+                .map(row -> build(row, owners))
+                .toList();
+
+        List<BuiltRow> valid = new ArrayList<>(built.size());
+        for (BuiltRow row : built) {
+            if (row.error() != null) {
+                progress.fail(row.line(), row.error(), maxReportedErrors);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (!valid.isEmpty()) {
+            insert(valid, progress);
+        }
+    }
+
+    // one transaction for the rows; if the database rejects it, each half is retried on its own so only the
+    // rows that actually fail are reported
+    private void insert(List<BuiltRow> rows, Progress progress) {
+        try {
+            Integer saved = transactionTemplate.execute(status -> {
+                // fresh entities on every attempt, a rolled-back attempt leaves ids and versions on the old ones
+                List<Property> properties = propertyRepository.saveAllAndFlush(rows.stream()
+                        .map(row -> propertyService.buildProperty(row.request(), row.owner()))
+                        .toList());
+                properties.forEach(property ->
+                        eventPublisher.publishEvent(new PropertyChangedEvent(null, PropertySnapshot.of(property))));
+                return properties.size();
+            });
+            progress.imported += Objects.requireNonNullElse(saved, 0);
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                progress.fail(rows.get(0).line(), "Insert failed: " + e.getMostSpecificCause().getMessage(),
+                        maxReportedErrors);
+                return;
+            }
+            log.debug("Import of {} rows failed, retrying in halves: {}", rows.size(),
+                    e.getMostSpecificCause().getMessage());
+            int middle = rows.size() / 2;
+            insert(rows.subList(0, middle), progress);
+            insert(rows.subList(middle, rows.size()), progress);
+        }
+    }
+
+    private ParsedRow parse(RawRow row) {
+        try {
+            AddPropertyRequest request = row.json() != null
+                    ? objectMapper.readValue(row.json(), AddPropertyRequest.class)
+                    : toRequest(row.columns());
+            if (request.category() == null) {
+                throw new PropertyValidationException("Category is required");
+            }
+            propertyService.validatePropertyRequest(request);
+            return new ParsedRow(row.line(), request, null);
+        } catch (PropertyValidationException | BadRequestException e) {
+            return new ParsedRow(row.line(), null, e.getMessage());
+        } catch (JsonProcessingException e) {
+            return new ParsedRow(row.line(), null, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(row.line(), null, "Invalid value: " + e.getMessage());
+        }
+    }
+
+    private BuiltRow build(ParsedRow row, Map<Long, User> owners) {
+        if (row.error() != null) {
+            return new BuiltRow(row.line(), null, null, row.error());
+        }
+        User owner = owners.get(row.request().ownerId());
+        if (owner == null) {
+            return new BuiltRow(row.line(), null, null, "Owner not found ID: " + row.request().ownerId());
+        }
+        return new BuiltRow(row.line(), row.request(), owner, null);
+    }
+
+    private static AddPropertyRequest toRequest(Map<String, String> columns) {
+        return new AddPropertyRequest(
+                columns.get("name"),
+                columns.get("description"),
+                parseCategory(columns.get("category")),
+                columns.get("address"),
+                parseDouble(columns.get("pricePerNight"), "pricePerNight"),
+                parseInteger(columns.get("maxGuest"), "maxGuest"),
+                parseLong(columns.get("ownerId"), "ownerId"),
+                parseDouble(columns.get("latitude"), "latitude"),
+                parseDouble(columns.get("longitude"), "longitude")
+        );
+    }
+
+    private static RoomCategory parseCategory(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return RoomCategory.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown category: " + value);
+        }
+    }
+
+    private static Double parseDouble(String value, String column) {
+        try {
+            return value == null ? null : Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(column + " is not a number: " + value);
+        }
+    }
+
+    private static Integer parseInteger(String value, String column) {
+        try {
+            return value == null ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(column + " is not a whole number: " + value);
+        }
+    }
+
+    private static Long parseLong(String value, String column) {
+        try {
+            return value == null ? null : Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(column + " is not a whole number: " + value);
+        }
+    }
+
+    private static double rowsPerSecond(long rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? rows / seconds : 0;
+    }
+
+    private interface RecordReader {
+        RawRow next() throws IOException;
+    }
+
+    private static final class JsonLinesRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private long line;
+
+        private JsonLinesRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    return new RawRow(line, text, null);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * RFC 4180 style: comma separated, fields optionally quoted, {@code ""} inside quotes is a literal quote
+     * and quoted fields may span lines. The first record is the header.
+     */
+    private static final class CsvRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private final List<String> header;
+        private long line;
+        private long recordLine;
+
+        private CsvRecordReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> columns = readRecord();
+            if (columns == null) {
+                throw new BadRequestException("CSV input is empty");
+            }
+            this.header = columns.stream().map(String::trim).toList();
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !header.contains(column)).toList();
+            if (!missing.isEmpty()) {
+                throw new BadRequestException("CSV header is missing columns: " + String.join(", ", missing));
+            }
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            Map<String, String> columns = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                String value = values.get(i);
+                columns.put(header.get(i), value.isEmpty() ? null : value);
+            }
+            return new RawRow(recordLine, null, columns);
+        }
+
+        private List<String> readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            recordLine = ++line;
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    String continuation = reader.readLine();
+                    if (continuation == null) {
+                        throw new BadRequestException("Unterminated quoted field starting near line " + line);
+                    }
+                    line++;
+                    value.append('\n');
+                    text = continuation;
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    private static final class Progress {
+        private final List<PropertyImportResponse.RowError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        private void fail(long line, String message, int maxReportedErrors) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new PropertyImportResponse.RowError(line, message));
+            }
+        }
+    }
+
+    private record RawRow(long line, String json, Map<String, String> columns) {
+    }
+
+    private record ParsedRow(long line, AddPropertyRequest request, String error) {
+    }
+
+    private record BuiltRow(long line, AddPropertyRequest request, User owner, String error) {
+    }
+}
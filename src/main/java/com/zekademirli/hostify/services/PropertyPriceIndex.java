@@ -0,0 +1,182 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Active properties sorted by {@code (pricePerNight, id)} in two parallel primitive arrays. Range counts are two
+ * binary searches and price-ordered pages are a binary search plus a sequential read; updates shift the
+ * arrays, which is cheap next to the write that caused them.
+ */
+@Slf4j
+@Component
+public class PropertyPriceIndex {
+
+    private final PropertyRepository propertyRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Double> pricesById = new HashMap<>();
+
+    private double[] prices = new double[1024];
+    private long[] ids = new long[1024];
+    private int size;
+
+    public PropertyPriceIndex(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<PropertySnapshot> snapshots = propertyRepository.findAllSnapshots().stream()
+                .filter(snapshot -> snapshot.isActive() && snapshot.pricePerNight() != null)
+                .sorted(Comparator.comparingDouble(PropertySnapshot::pricePerNight)
+                        .thenComparingLong(PropertySnapshot::id))
+                .toList();
+        lock.writeLock().lock();
+        try {
+            int capacity = Math.max(1024, snapshots.size() * 2);
+            prices = new double[capacity];
+            ids = new long[capacity];
+            size = 0;
+            pricesById.clear();
+            for (PropertySnapshot snapshot : snapshots) {
+                prices[size] = snapshot.pricePerNight();
+                ids[size++] = snapshot.id();
+                pricesById.put(snapshot.id(), snapshot.pricePerNight());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Price index loaded {} properties", snapshots.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.propertyId());
+            // deactivated properties, including those waiting to be purged, leave the index
+            if (!event.isDeleted() && event.after().isActive() && event.after().pricePerNight() != null) {
+                insert(event.propertyId(), event.after().pricePerNight());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of properties priced within {@code [minPrice, maxPrice]}; a null bound is open.
+     */
+    public int count(Double minPrice, Double maxPrice) {
+        lock.readLock().lock();
+        try {
+            return Math.max(0, upperBound(maxPrice) - lowerBound(minPrice));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids priced within {@code [minPrice, maxPrice]} in {@code (price, id)} order, starting strictly after the
+     * given position, or at the start of the range when {@code afterPrice} is null.
+     */
+    public List<Entry> page(Double minPrice, Double maxPrice, Double afterPrice, Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = lowerBound(minPrice);
+            if (afterPrice != null) {
+                from = Math.max(from, search(afterPrice, afterId, true));
+            }
+            int to = Math.min(upperBound(maxPrice), from + limit);
+            List<Entry> page = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                page.add(new Entry(ids[i], prices[i]));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Entry> cheapest(int limit) {
+        return page(null, null, null, null, limit);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(long id, double price) {
+        if (size == prices.length) {
+            prices = Arrays.copyOf(prices, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int position = search(price, id, false);
+        System.arraycopy(prices, position, prices, position + 1, size - position);
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        prices[position] = price;
+        ids[position] = id;
+        size++;
+        pricesById.put(id, price);
+    }
+
+    private void remove(long id) {
+        Double price = pricesById.remove(id);
+        if (price == null) {
+            return;
+        }
+        int position = search(price, id, false);
+        System.arraycopy(prices, position + 1, prices, position, size - position - 1);
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    // first position whose price is >= minPrice; a null bound is the start of the array
+    private int lowerBound(Double minPrice) {
+        return minPrice == null ? 0 : search(minPrice, Long.MIN_VALUE, false);
+    }
+
+    // first position whose price is > maxPrice; a null bound is the end of the array
+    private int upperBound(Double maxPrice) {
+        return maxPrice == null ? size : search(maxPrice, Long.MAX_VALUE, true);
+    }
+
+    private int search(double price, long id, boolean strictlyAfter) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int byPrice = Double.compare(prices[mid], price);
+            int comparison = byPrice != 0 ? byPrice : Long.compare(ids[mid], id);
+            if (comparison < 0 || (strictlyAfter && comparison == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public record Entry(long id, double pricePerNight) {
+    }
+}
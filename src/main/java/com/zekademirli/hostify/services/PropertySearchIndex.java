@@ -0,0 +1,283 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over property name, address and description with BM25 ranking. Documents are addressed by
+ * an internal ordinal; an update tombstones the old ordinal and appends a new one, and the index is compacted
+ * once tombstones outnumber half of the live documents.
+ */
+@Slf4j
+@Component
+public class PropertySearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int ADDRESS_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "by", "for", "in", "is", "it", "of", "on", "or", "the", "to", "with"
+    );
+
+    private final PropertyRepository propertyRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Postings> postings = new HashMap<>();
+    private Map<Long, Integer> ordinals = new HashMap<>();
+    private Document[] documents = new Document[1024];
+    private int documentCount;
+    private int liveCount;
+    private long totalLength;
+
+    public PropertySearchIndex(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        List<PropertySnapshot> snapshots = propertyRepository.findAllSnapshots();
+        lock.writeLock().lock();
+        try {
+            for (PropertySnapshot snapshot : snapshots) {
+                // an import may already have indexed the row through its event
+                remove(snapshot.id());
+                index(snapshot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built for {} properties ({} terms) in {} ms",
+                snapshots.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.propertyId());
+            if (!event.isDeleted()) {
+                index(event.after());
+            }
+            if (documentCount - liveCount > Math.max(1024, liveCount / 2)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks live, active properties matching any query term. Returns at most {@code limit} hits, best first,
+     * together with the number of documents that matched the query and the filters.
+     */
+    public Result search(String query, RoomCategory category, Double minPrice, Double maxPrice, int limit) {
+        List<String> terms = List.copyOf(tokenize(query, 1).keySet());
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || liveCount == 0) {
+                return new Result(List.of(), 0);
+            }
+            double averageLength = (double) totalLength / liveCount;
+            float[] scores = new float[documentCount];
+            int matched = 0;
+
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null || list.liveDocuments == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveCount - list.liveDocuments + 0.5) / (list.liveDocuments + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    Document document = documents[list.ordinals[i]];
+                    if (document == null || !document.matches(category, minPrice, maxPrice)) {
+                        continue;
+                    }
+                    int tf = list.frequencies[i];
+                    double norm = tf + K1 * (1 - B + B * document.length() / averageLength);
+                    if (scores[list.ordinals[i]] == 0) {
+                        matched++;
+                    }
+                    scores[list.ordinals[i]] += (float) (idf * tf * (K1 + 1) / norm);
+                }
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, limit + 1));
+            for (int ordinal = 0; ordinal < documentCount; ordinal++) {
+                if (scores[ordinal] > 0) {
+                    top.add(new Hit(documents[ordinal].propertyId(), scores[ordinal]));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+            Hit[] hits = top.toArray(new Hit[0]);
+            Arrays.sort(hits, Comparator.reverseOrder());
+            return new Result(List.of(hits), matched);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(PropertySnapshot snapshot) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(snapshot.name(), NAME_WEIGHT).forEach((term, tf) -> frequencies.merge(term, tf, Integer::sum));
+        tokenize(snapshot.address(), ADDRESS_WEIGHT).forEach((term, tf) -> frequencies.merge(term, tf, Integer::sum));
+        tokenize(snapshot.description(), DESCRIPTION_WEIGHT).forEach((term, tf) -> frequencies.merge(term, tf, Integer::sum));
+
+        String[] terms = new String[frequencies.size()];
+        int[] tfs = new int[frequencies.size()];
+        int i = 0;
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            terms[i] = entry.getKey();
+            tfs[i] = entry.getValue();
+            length += tfs[i++];
+        }
+        add(new Document(snapshot.id(), snapshot.category(),
+                snapshot.pricePerNight() == null ? 0 : snapshot.pricePerNight(),
+                snapshot.isActive(), length, terms, tfs));
+    }
+
+    private void add(Document document) {
+        if (documentCount == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        int ordinal = documentCount++;
+        documents[ordinal] = document;
+        ordinals.put(document.propertyId(), ordinal);
+        for (int i = 0; i < document.terms().length; i++) {
+            postings.computeIfAbsent(document.terms()[i], term -> new Postings())
+                    .add(ordinal, document.frequencies()[i]);
+        }
+        liveCount++;
+        totalLength += document.length();
+    }
+
+    private void remove(long propertyId) {
+        Integer ordinal = ordinals.remove(propertyId);
+        if (ordinal == null) {
+            return;
+        }
+        Document document = documents[ordinal];
+        documents[ordinal] = null;
+        for (String term : document.terms()) {
+            postings.get(term).liveDocuments--;
+        }
+        liveCount--;
+        totalLength -= document.length();
+    }
+
+    private void compact() {
+        Document[] live = new Document[Math.max(1024, liveCount * 2)];
+        int count = 0;
+        for (int ordinal = 0; ordinal < documentCount; ordinal++) {
+            if (documents[ordinal] != null) {
+                live[count++] = documents[ordinal];
+            }
+        }
+        postings = new HashMap<>();
+        ordinals = new HashMap<>();
+        documents = new Document[live.length];
+        documentCount = 0;
+        liveCount = 0;
+        totalLength = 0;
+        for (int i = 0; i < count; i++) {
+            add(live[i]);
+        }
+        log.debug("Search index compacted to {} documents", liveCount);
+    }
+
+    static Map<String, Integer> tokenize(String text, int weight) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        if (text == null) {
+            return frequencies;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean tokenChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                String token = lower.substring(start, i);
+                if (token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                    frequencies.merge(token, weight, Integer::sum);
+                }
+                start = -1;
+            }
+        }
+        return frequencies;
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        private int liveDocuments;
+
+        private void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size++] = frequency;
+            liveDocuments++;
+        }
+    }
+
+    private record Document(long propertyId, RoomCategory category, double pricePerNight, boolean active,
+                            int length, String[] terms, int[] frequencies) {
+
+        private boolean matches(RoomCategory wanted, Double minPrice, Double maxPrice) {
+            return active
+                    && (wanted == null || wanted == category)
+                    && (minPrice == null || pricePerNight >= minPrice)
+                    && (maxPrice == null || pricePerNight <= maxPrice);
+        }
+    }
+
+    public record Hit(long propertyId, float score) implements Comparable<Hit> {
+
+        @Override
+        public int compareTo(Hit other) {
+            int byScore = Float.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(other.propertyId, propertyId);
+        }
+    }
+
+    public record Result(List<Hit> hits, int totalMatches) {
+    }
+}
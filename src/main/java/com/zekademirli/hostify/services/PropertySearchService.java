@@ -0,0 +1,77 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.response.PropertyResponse;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.exceptions.BadRequestException;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PropertySearchService {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RESULT_WINDOW = 1000;
+
+    private final PropertySearchIndex propertySearchIndex;
+    private final PropertyRepository propertyRepository;
+
+    @Transactional(readOnly = true)
+    public Page<PropertyResponse> search(String query, RoomCategory category, Double minPrice, Double maxPrice,
+                                         Pageable pageable) {
+        validateSearch(query, minPrice, maxPrice, pageable);
+
+        int offset = (int) pageable.getOffset();
+        PropertySearchIndex.Result result = propertySearchIndex.search(
+                query, category, minPrice, maxPrice, offset + pageable.getPageSize());
+        log.info("Search '{}' matched {} properties", query, result.totalMatches());
+        long total = Math.min(result.totalMatches(), MAX_RESULT_WINDOW);
+
+        List<Long> pageIds = result.hits().stream()
+                .skip(offset)
+                .map(PropertySearchIndex.Hit::propertyId)
+                .toList();
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+        Map<Long, PropertyResponse> properties = propertyRepository.findResponsesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(PropertyResponse::id, Function.identity()));
+        List<PropertyResponse> content = pageIds.stream()
+                .map(properties::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private void validateSearch(String query, Double minPrice, Double maxPrice, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query cannot be longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new BadRequestException("Minimum price cannot be greater than maximum price");
+        }
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size cannot be greater than " + MAX_PAGE_SIZE);
+        }
+        if (pageable.getOffset() + pageable.getPageSize() > MAX_RESULT_WINDOW) {
+            throw new BadRequestException("Search results are limited to the first " + MAX_RESULT_WINDOW + " matches");
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.zekademirli.hostify.services;
 
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.dto.projection.PropertySummary;
 import com.zekademirli.hostify.dto.request.AddPropertyRequest;
+import com.zekademirli.hostify.dto.request.KeysetCursor;
 import com.zekademirli.hostify.dto.request.UpdatePropertyRequest;
+import com.zekademirli.hostify.dto.response.CursorPage;
 import com.zekademirli.hostify.dto.response.PropertyResponse;
 import com.zekademirli.hostify.entities.Property;
 import com.zekademirli.hostify.entities.User;
+import com.zekademirli.hostify.enums.PurgeTarget;
 import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.events.PurgeRequestedEvent;
 import com.zekademirli.hostify.exceptions.*;
 import com.zekademirli.hostify.mapper.PropertyMapper;
 import com.zekademirli.hostify.repository.PropertyRepository;
@@ -14,7 +21,10 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,7 +32,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,10 +46,20 @@ import java.util.stream.Collectors;
 @Validated
 public class PropertyService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String ID_SORT_KEY = "id";
+    private static final String PRICE_SORT_KEY = "price";
+
     private final PropertyRepository propertyRepository;
     private final UserService userService;
     private final PropertyMapper propertyMapper;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticRetry optimisticRetry;
+    private final PropertyCache propertyCache;
+    private final PropertyPriceIndex propertyPriceIndex;
+    private final Gazetteer gazetteer;
+    private final CommentCounters commentCounters;
 
     @Transactional
     public PropertyResponse addProperty(AddPropertyRequest request) {
@@ -49,17 +74,37 @@ public class PropertyService {
 
         Property savedProperty = propertyRepository.save(property);
         log.info("Property successfully added with ID: {}", savedProperty.getId());
+        eventPublisher.publishEvent(new PropertyChangedEvent(null, PropertySnapshot.of(savedProperty)));
 
         return propertyMapper.toPropertyResponse(savedProperty);
     }
 
+    /**
+     * The property with the ETag and Last-Modified of the very row it was mapped from, cached together, so a
+     * validator can never vouch for a body of another version.
+     */
     @Transactional(readOnly = true)
-    public PropertyResponse getPropertyById(Long id) {
+    public PropertyDetail getPropertyById(Long id) {
         log.info("Getting property by ID: {}", id);
-        Property property = propertyRepository.findDetailedById(id).orElseThrow(
-                () -> new ResourceNotFoundException("Property not found: " + id)
-        );
-        return propertyMapper.toPropertyResponse(property);
+        PropertyDetail detail = propertyCache.getDetail(id, propertyId -> propertyRepository.findDetailedById(propertyId)
+                .filter(property -> property.getDeletionRequestedAt() == null)
+                .map(property -> new PropertyDetail(propertyMapper.toPropertyResponse(property),
+                        ResourceVersion.of("property-" + property.getId() + "-" + property.getVersion(),
+                                property.getUpdatedAt())))
+                .orElse(null));
+        if (detail == null) {
+            throw notFoundOrGone(id);
+        }
+        return detail;
+    }
+
+    // a property waiting to be purged still has its row; it answers 410 and leaves the cache
+    private RuntimeException notFoundOrGone(Long id) {
+        propertyCache.invalidate(id);
+        if (propertyRepository.existsById(id)) {
+            return new GoneException("Property has been deleted: " + id);
+        }
+        return new ResourceNotFoundException("Property not found: " + id);
     }
 
     @Transactional
@@ -69,18 +114,134 @@ public class PropertyService {
     }
 
     @Transactional(readOnly = true)
-    public List<PropertyResponse> getAllProperties() {
-        log.info("Getting all properties");
-        List<Property> properties = propertyRepository.findAll();
+    public PropertySummary getPropertySummary(Long id) {
+        PropertySummary summary = propertyCache.getSummary(id, propertyId -> propertyRepository.findSummaryById(propertyId)
+                .orElse(null));
+        if (summary == null) {
+            throw new ResourceNotFoundException("Property not found ID: " + id);
+        }
+        return summary;
+    }
+
+    /**
+     * Uninitialized proxy for wiring associations; existence is checked against the summary cache
+     * instead of loading the row.
+     */
+    @Transactional(readOnly = true)
+    public Property getPropertyReference(Long id) {
+        getPropertySummary(id);
+        return propertyRepository.getReferenceById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Property> getPropertiesByIds(Collection<Long> ids) {
+        return propertyRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Property::getId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PropertyResponse> getProperties(String cursor, int size, Double minPrice, Double maxPrice,
+                                                      String sort) {
+        validatePageSize(size);
+        validatePriceRange(minPrice, maxPrice);
+        log.info("Getting properties page, size {}, price {}..{}, sort {}", size, minPrice, maxPrice, sort);
+
+        if (PRICE_SORT_KEY.equals(sort)) {
+            return getPropertiesByPrice(cursor, size, minPrice, maxPrice);
+        }
+        if (sort != null && !ID_SORT_KEY.equals(sort)) {
+            throw new BadRequestException("Sort must be one of: id, price");
+        }
+
+        Limit limit = Limit.of(size + 1);
+        Long afterId = cursor == null ? null : KeysetCursor.decode(cursor).id();
+        List<PropertyResponse> properties;
+        if (minPrice != null || maxPrice != null) {
+            properties = propertyRepository.findResponsePageInPriceRange(
+                    minPrice == null ? 0 : minPrice,
+                    maxPrice == null ? Double.MAX_VALUE : maxPrice,
+                    afterId == null ? 0 : afterId,
+                    limit);
+        } else {
+            properties = afterId == null
+                    ? propertyRepository.findFirstResponsePage(limit)
+                    : propertyRepository.findResponsePageAfter(afterId, limit);
+        }
+
+        boolean hasNext = properties.size() > size;
+        List<PropertyResponse> page = hasNext ? properties.subList(0, size) : properties;
+        String nextCursor = hasNext
+                ? new KeysetCursor(ID_SORT_KEY, page.get(page.size() - 1).id()).encode()
+                : null;
+        return CursorPage.of(withCommentCounts(page), nextCursor);
+    }
+
+    public long countPropertiesInPriceRange(Double minPrice, Double maxPrice) {
+        validatePriceRange(minPrice, maxPrice);
+        return propertyPriceIndex.count(minPrice, maxPrice);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PropertyResponse> getCheapestProperties(int limit) {
+        validatePageSize(limit);
+        return withCommentCounts(loadInOrder(propertyPriceIndex.cheapest(limit)));
+    }
+
+    private CursorPage<PropertyResponse> getPropertiesByPrice(String cursor, int size, Double minPrice,
+                                                              Double maxPrice) {
+        Double afterPrice = null;
+        Long afterId = null;
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            try {
+                afterPrice = Double.parseDouble(position.sortKey());
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            afterId = position.id();
+        }
+
+        List<PropertyPriceIndex.Entry> entries = propertyPriceIndex.page(minPrice, maxPrice, afterPrice, afterId, size + 1);
+        boolean hasNext = entries.size() > size;
+        List<PropertyPriceIndex.Entry> page = hasNext ? entries.subList(0, size) : entries;
+        String nextCursor = null;
+        if (hasNext) {
+            PropertyPriceIndex.Entry last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(String.valueOf(last.pricePerNight()), last.id()).encode();
+        }
+        return CursorPage.of(withCommentCounts(loadInOrder(page)), nextCursor);
+    }
 
+    private List<PropertyResponse> loadInOrder(List<PropertyPriceIndex.Entry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = entries.stream().map(PropertyPriceIndex.Entry::id).toList();
+        Map<Long, PropertyResponse> properties = propertyRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PropertyResponse::id, Function.identity()));
+        return ids.stream()
+                .map(properties::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // the column lags by up to one counter flush; listings show the live in-memory count
+    private List<PropertyResponse> withCommentCounts(List<PropertyResponse> properties) {
+        Map<Long, Long> counts = commentCounters.propertyCounts(properties.stream().map(PropertyResponse::id).toList());
         return properties.stream()
-                .map(propertyMapper::toPropertyResponse)
-                .collect(Collectors.toList());
+                .map(property -> property.withCommentCount(counts.get(property.id())))
+                .toList();
+    }
+
+    private Page<PropertyResponse> withCommentCounts(Page<PropertyResponse> properties) {
+        return properties.map(property -> property.withCommentCount(commentCounters.propertyCount(property.id())));
     }
 
-    @Transactional
     public PropertyResponse updateProperty(Long propertyId, UpdatePropertyRequest request) {
+        return optimisticRetry.execute("update property " + propertyId, () -> update(propertyId, request));
+    }
 
+    private PropertyResponse update(Long propertyId, UpdatePropertyRequest request) {
         Property property = propertyRepository.findById(propertyId).orElseThrow(
                 () -> new ResourceNotFoundException("Property not found: " + propertyId)
         );
@@ -98,6 +259,13 @@ public class PropertyService {
         if (request.getMaxGuest() != null && request.getMaxGuest() <= 0) {
             throw new BadRequestException("Max guests must be positive");
         }
+        if ((request.getLatitude() != null || request.getLongitude() != null)
+                && !GeoPoint.isValid(request.getLatitude(), request.getLongitude())) {
+            throw new BadRequestException("Latitude and longitude must be given together and be in range");
+        }
+
+        PropertySnapshot before = PropertySnapshot.of(property);
+        propertyCache.invalidate(propertyId);
 
         if (request.getDescription() != null) {
             property.setDescription(request.getDescription());
@@ -106,10 +274,19 @@ public class PropertyService {
             property.setName(request.getName());
         }
 
-        property.setPricePerNight(request.getPricePerNight());
-        property.setMaxGuests(request.getMaxGuest());
+        if (request.getPricePerNight() != null) {
+            property.setPricePerNight(request.getPricePerNight());
+        }
+        if (request.getMaxGuest() != null) {
+            property.setMaxGuests(request.getMaxGuest());
+        }
+        if (request.getLatitude() != null) {
+            property.setLatitude(request.getLatitude());
+            property.setLongitude(request.getLongitude());
+        }
 
         Property updatedProperty = propertyRepository.save(property);//for readability
+        eventPublisher.publishEvent(new PropertyChangedEvent(before, PropertySnapshot.of(updatedProperty)));
 
         return propertyMapper.toPropertyResponse(updatedProperty);
     }
@@ -121,7 +298,36 @@ public class PropertyService {
         Property property = propertyRepository.findById(propertyId).orElseThrow(
                 () -> new ResourceNotFoundException("Property not found: " + propertyId)
         );
-        propertyRepository.delete(property);
+        if (property.getDeletionRequestedAt() == null) {
+            PropertySnapshot before = PropertySnapshot.of(property);
+            property.setIsActive(false);
+            property.setDeletionRequestedAt(LocalDateTime.now());
+            propertyCache.invalidate(propertyId);
+            eventPublisher.publishEvent(new PropertyChangedEvent(before, PropertySnapshot.of(property)));
+        }
+        // repeated requests re-queue a purge that failed; one that is still running is left alone
+        eventPublisher.publishEvent(new PurgeRequestedEvent(PurgeTarget.PROPERTY, propertyId));
+    }
+
+    /**
+     * Deactivates every property of a user whose deletion was just requested, in the same transaction. The
+     * user's purge removes them afterwards.
+     */
+    @EventListener
+    public void onPurgeRequested(PurgeRequestedEvent event) {
+        if (event.target() != PurgeTarget.USER) {
+            return;
+        }
+        List<PropertySnapshot> owned = propertyRepository.findSnapshotsNotPendingDeletionByOwnerId(event.id());
+        if (owned.isEmpty()) {
+            return;
+        }
+        propertyRepository.markDeletionRequestedByOwnerId(event.id(), LocalDateTime.now());
+        for (PropertySnapshot before : owned) {
+            propertyCache.invalidate(before.id());
+            eventPublisher.publishEvent(new PropertyChangedEvent(before, before.deactivated()));
+        }
+        log.info("Deactivated {} properties of user {} pending deletion", owned.size(), event.id());
     }
 
     @Transactional(readOnly = true)
@@ -135,14 +341,14 @@ public class PropertyService {
         }
 
         try {
-            Page<Property> properties = propertyRepository.findAllByOwnerId(ownerId, pageable);
+            Page<PropertyResponse> properties = propertyRepository.findResponsesByOwnerId(ownerId, pageable);
             if (properties.isEmpty()) {
                 log.info("No properties found for owner ID: {}", ownerId);
             } else {
                 log.info("Found {} properties for owner ID: {}",
                         properties.getTotalElements(), ownerId);
             }
-            return properties.map(propertyMapper::toPropertyResponse);
+            return withCommentCounts(properties);
 
         } catch (DataAccessException exception) {
             log.error("Database error while fetching properties for owner ID: {}", ownerId, exception);
@@ -150,7 +356,7 @@ public class PropertyService {
         }
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<PropertyResponse> getPropertiesByCategory(
             @NotNull RoomCategory category,
             @NotNull Pageable pageable) {
@@ -159,19 +365,34 @@ public class PropertyService {
         validatePageable(pageable);
 
         try {
-            Page<Property> properties = propertyRepository.findAllByCategory(category, pageable);
+            Page<PropertyResponse> properties = propertyRepository.findResponsesByCategory(category, pageable);
             if (properties.isEmpty()) {
                 log.info("No properties found for room category: {}", category);
             } else {
                 log.info("Found {} properties for room category: {}", properties.getTotalElements(), category);
             }
-            return properties.map(propertyMapper::toPropertyResponse);
+            return withCommentCounts(properties);
         } catch (DataAccessException exception) {
             log.error("Database error while fetching properties for room category: {}", category, exception);
             throw new ServiceException("Error retrieving properties for room category", exception);
         }
     }
 
+    private void validatePageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private void validatePriceRange(Double minPrice, Double maxPrice) {
+        if ((minPrice != null && minPrice < 0) || (maxPrice != null && maxPrice < 0)) {
+            throw new BadRequestException("Price bounds cannot be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new BadRequestException("Minimum price cannot be greater than maximum price");
+        }
+    }
+
     private void validateOwnerId(Long ownerId) {
         if (ownerId == null) {
             throw new IllegalArgumentException("Owner ID cannot be null");
@@ -202,7 +423,7 @@ public class PropertyService {
     }
 
 
-    private void validatePropertyRequest(AddPropertyRequest request) {
+    void validatePropertyRequest(AddPropertyRequest request) {
         if (request == null) {
             throw new PropertyValidationException("Property request cannot be null");
         }
@@ -219,6 +440,10 @@ public class PropertyService {
             throw new PropertyValidationException("Address is required");
         }
 
+        if (request.address().length() > 255) {
+            throw new PropertyValidationException("Address cannot exceed 255 characters");
+        }
+
         if (request.pricePerNight() == null || request.pricePerNight() <= 0) {
             throw new PropertyValidationException("Price per night must be greater than zero");
         }
@@ -234,9 +459,18 @@ public class PropertyService {
         if (request.ownerId() == null) {
             throw new PropertyValidationException("Owner ID is required");
         }
+
+        if ((request.latitude() != null || request.longitude() != null)
+                && !GeoPoint.isValid(request.latitude(), request.longitude())) {
+            throw new PropertyValidationException("Latitude and longitude must be given together and be in range");
+        }
     }
 
-    private Property buildProperty(AddPropertyRequest request, User owner) {
+    Property buildProperty(AddPropertyRequest request, User owner) {
+        // explicit coordinates win; otherwise place the property by the city named in its address
+        GeoPoint location = request.latitude() != null
+                ? new GeoPoint(request.latitude(), request.longitude())
+                : gazetteer.geocode(request.address()).orElse(null);
         return Property.builder()
                 .name(sanitizeString(request.name()))
                 .description(sanitizeString(request.description()))
@@ -245,6 +479,8 @@ public class PropertyService {
                 .maxGuests(request.maxGuest())
                 .owner(owner)
                 .category(request.category())
+                .latitude(location == null ? null : location.latitude())
+                .longitude(location == null ? null : location.longitude())
                 .build();
     }
 
@@ -254,4 +490,7 @@ public class PropertyService {
         }
         return input.trim();
     }
+
+    public record PropertyDetail(PropertyResponse response, ResourceVersion version) {
+    }
 }
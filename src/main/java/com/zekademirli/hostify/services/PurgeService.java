@@ -0,0 +1,325 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.dto.projection.ReservationStay;
+import com.zekademirli.hostify.dto.response.PurgeStatusResponse;
+import com.zekademirli.hostify.enums.PurgeState;
+import com.zekademirli.hostify.enums.PurgeTarget;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.events.PurgeRequestedEvent;
+import com.zekademirli.hostify.exceptions.ResourceNotFoundException;
+import com.zekademirli.hostify.repository.*;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Removes deactivated properties and users together with everything that references them. Dependents are
+ * selected by id and bulk-deleted in fixed-size chunks, each in its own short transaction, on a single
+ * worker so a large host never turns into one long, lock-heavy delete. Targets are marked with
+ * {@code deletionRequestedAt} before they are queued, so an interrupted purge is picked up again on startup.
+ */
+@Slf4j
+@Service
+public class PurgeService {
+
+    private static final int FINAL_DELETE_ATTEMPTS = 3;
+
+    private final PropertyRepository propertyRepository;
+    private final UserRepository userRepository;
+    private final ReservationRepository reservationRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final ReviewRepository reviewRepository;
+    private final MessageRepository messageRepository;
+    private final PropertyImageRepository propertyImageRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int retainedStatuses;
+    private final ExecutorService worker;
+    private final Map<String, Progress> statuses = new ConcurrentHashMap<>();
+    private final Queue<String> finished = new ConcurrentLinkedQueue<>();
+
+    public PurgeService(PropertyRepository propertyRepository,
+                        UserRepository userRepository,
+                        ReservationRepository reservationRepository,
+                        PostRepository postRepository,
+                        CommentRepository commentRepository,
+                        ReviewRepository reviewRepository,
+                        MessageRepository messageRepository,
+                        PropertyImageRepository propertyImageRepository,
+                        AvailabilityIndex availabilityIndex,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${hostify.purge.chunk-size:500}") int chunkSize,
+                        @Value("${hostify.purge.pause-ms:20}") long pauseMillis,
+                        @Value("${hostify.purge.retained-statuses:1000}") int retainedStatuses) {
+        this.propertyRepository = propertyRepository;
+        this.userRepository = userRepository;
+        this.reservationRepository = reservationRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.reviewRepository = reviewRepository;
+        this.messageRepository = messageRepository;
+        this.propertyImageRepository = propertyImageRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.retainedStatuses = retainedStatuses;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "purge-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        List<Long> propertyIds = propertyRepository.findIdsPendingDeletion();
+        List<Long> userIds = userRepository.findIdsPendingDeletion();
+        propertyIds.forEach(id -> enqueue(PurgeTarget.PROPERTY, id));
+        userIds.forEach(id -> enqueue(PurgeTarget.USER, id));
+        if (!propertyIds.isEmpty() || !userIds.isEmpty()) {
+            log.info("Resuming purge of {} properties and {} users", propertyIds.size(), userIds.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurgeRequested(PurgeRequestedEvent event) {
+        enqueue(event.target(), event.id());
+    }
+
+    public PurgeStatusResponse getStatus(PurgeTarget target, Long id) {
+        Progress progress = statuses.get(key(target, id));
+        if (progress == null) {
+            throw new ResourceNotFoundException("No deletion in progress for " + key(target, id));
+        }
+        return progress.toResponse();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void enqueue(PurgeTarget target, Long id) {
+        String key = key(target, id);
+        Progress created = new Progress(target, id);
+        Progress current = statuses.compute(key, (k, existing) ->
+                existing != null && !existing.isFinished() ? existing : created);
+        if (current != created) {
+            return;
+        }
+        worker.execute(() -> run(key, created));
+    }
+
+    private void run(String key, Progress progress) {
+        progress.start();
+        long started = System.nanoTime();
+        try {
+            if (progress.target == PurgeTarget.PROPERTY) {
+                purgeProperty(progress.id, progress);
+            } else {
+                purgeUser(progress.id, progress);
+            }
+            progress.finish(PurgeState.COMPLETED, null);
+            log.info("Purged {} in {} ms: {}", key, (System.nanoTime() - started) / 1_000_000, progress.counts());
+        } catch (RuntimeException e) {
+            progress.finish(PurgeState.FAILED, e.getMessage());
+            log.error("Purge of {} failed after {}; it will be retried on the next startup", key, progress.counts(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.finish(PurgeState.FAILED, "Interrupted");
+        }
+        retain(key);
+    }
+
+    private void purgeProperty(Long propertyId, Progress progress) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            drain(progress, "comments", limit -> commentRepository.findIdsByPropertyId(propertyId, limit),
+                    commentRepository::deleteByIdIn);
+            drain(progress, "posts", limit -> postRepository.findIdsByPropertyId(propertyId, limit),
+                    postRepository::deleteByIdIn);
+            drain(progress, "reviews", limit -> reviewRepository.findIdsByPropertyId(propertyId, limit),
+                    reviewRepository::deleteByIdIn);
+            drainReservations(progress, limit -> reservationRepository.findStaysByPropertyId(propertyId, limit));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    progress.add("images", propertyImageRepository.deleteAllByPropertyId(propertyId));
+                    PropertySnapshot before = propertyRepository.findSnapshotById(propertyId).orElse(null);
+                    if (before != null && propertyRepository.hardDeleteById(propertyId) > 0) {
+                        progress.add("properties", 1);
+                        eventPublisher.publishEvent(new PropertyChangedEvent(before, null));
+                    }
+                });
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // something was attached while draining; drain again and retry the final delete
+                if (attempt == FINAL_DELETE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void purgeUser(Long userId, Progress progress) throws InterruptedException {
+        while (true) {
+            List<Long> propertyIds = propertyRepository.findIdsByOwnerId(userId, Limit.of(chunkSize));
+            if (propertyIds.isEmpty()) {
+                break;
+            }
+            for (Long propertyId : propertyIds) {
+                purgeProperty(propertyId, progress);
+            }
+        }
+        for (int attempt = 1; ; attempt++) {
+            drain(progress, "comments", limit -> commentRepository.findIdsByUserId(userId, limit),
+                    commentRepository::deleteByIdIn);
+            drain(progress, "posts", limit -> postRepository.findIdsByUserId(userId, limit),
+                    postRepository::deleteByIdIn);
+            drain(progress, "messages", limit -> messageRepository.findIdsByUserId(userId, limit),
+                    messageRepository::deleteByIdIn);
+            drainReservations(progress, limit -> reservationRepository.findStaysByUserId(userId, limit));
+            try {
+                Integer deleted = transactionTemplate.execute(status -> userRepository.hardDeleteById(userId));
+                progress.add("users", deleted == null ? 0 : deleted);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == FINAL_DELETE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // deletes chunk after chunk until the selection comes back empty
+    private void drain(Progress progress, String label, Function<Limit, List<Long>> nextIds,
+                       Function<List<Long>, Integer> delete) throws InterruptedException {
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = nextIds.apply(Limit.of(chunkSize));
+                return ids.isEmpty() ? null : delete.apply(ids);
+            });
+            if (deleted == null) {
+                return;
+            }
+            progress.add(label, deleted);
+            pause();
+        }
+    }
+
+    private void drainReservations(Progress progress, Function<Limit, List<ReservationStay>> nextStays)
+            throws InterruptedException {
+        while (true) {
+            List<ReservationStay> stays = transactionTemplate.execute(status -> {
+                List<ReservationStay> chunk = nextStays.apply(Limit.of(chunkSize));
+                if (!chunk.isEmpty()) {
+                    reservationRepository.deleteByIdIn(chunk.stream().map(ReservationStay::id).toList());
+                }
+                return chunk;
+            });
+            if (stays == null || stays.isEmpty()) {
+                return;
+            }
+            // committed; release the nights so the calendar matches the table
+            stays.forEach(stay -> availabilityIndex.remove(stay.propertyId(), stay.id()));
+            progress.add("reservations", stays.size());
+            pause();
+        }
+    }
+
+    private void pause() throws InterruptedException {
+        if (pauseMillis > 0) {
+            Thread.sleep(pauseMillis);
+        } else if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    private void retain(String key) {
+        finished.add(key);
+        while (finished.size() > retainedStatuses) {
+            String oldest = finished.poll();
+            if (oldest != null) {
+                statuses.computeIfPresent(oldest, (k, progress) -> progress.isFinished() ? null : progress);
+            }
+        }
+    }
+
+    private static String key(PurgeTarget target, Long id) {
+        return target.name().toLowerCase(Locale.ROOT) + "-" + id;
+    }
+
+    private static final class Progress {
+
+        private final PurgeTarget target;
+        private final Long id;
+        private final LocalDateTime requestedAt = LocalDateTime.now();
+        private final Map<String, Long> deleted = new TreeMap<>();
+        private PurgeState state = PurgeState.QUEUED;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private String error;
+
+        private Progress(PurgeTarget target, Long id) {
+            this.target = target;
+            this.id = id;
+        }
+
+        private synchronized void start() {
+            state = PurgeState.RUNNING;
+            startedAt = LocalDateTime.now();
+        }
+
+        private synchronized void add(String label, long count) {
+            if (count > 0) {
+                deleted.merge(label, count, Long::sum);
+            }
+        }
+
+        private synchronized void finish(PurgeState finalState, String message) {
+            state = finalState;
+            error = message;
+            finishedAt = LocalDateTime.now();
+        }
+
+        private synchronized boolean isFinished() {
+            return state == PurgeState.COMPLETED || state == PurgeState.FAILED;
+        }
+
+        private synchronized Map<String, Long> counts() {
+            return Map.copyOf(deleted);
+        }
+
+        private synchronized PurgeStatusResponse toResponse() {
+            return new PurgeStatusResponse(target, id, state, new TreeMap<>(deleted), requestedAt, startedAt,
+                    finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.dto.response.PostFeedResponse;
+import com.zekademirli.hostify.enums.PurgeTarget;
+import com.zekademirli.hostify.events.PostChangedEvent;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import com.zekademirli.hostify.events.PurgeRequestedEvent;
+import com.zekademirli.hostify.events.UserChangedEvent;
+import com.zekademirli.hostify.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * The newest posts in feed order, {@code (createdAt, id)} descending, in a fixed-size circular array. As
+ * long as it holds the newest {@code n} rows of the table, the first page of the feed is served from here;
+ * an insert evicts the oldest slot, so the window slides without copying. Disabled when the capacity is 0.
+ */
+@Slf4j
+@Component
+public class RecentPostsBuffer {
+
+    static final Comparator<PostFeedResponse> FEED_ORDER = Comparator
+            .comparing(PostFeedResponse::createdAt)
+            .thenComparing(PostFeedResponse::id)
+            .reversed();
+
+    private static final int LOAD_ATTEMPTS = 5;
+
+    private final PostRepository postRepository;
+    private final PostFeedResponse[] slots;
+    private int head;
+    private int size;
+    // true when the buffer holds every post in the table, not only the newest ones
+    private boolean complete;
+    private boolean ready;
+    private long changes;
+
+    public RecentPostsBuffer(PostRepository postRepository,
+                             @Value("${hostify.feed.recent-size:200}") int capacity) {
+        this.postRepository = postRepository;
+        this.slots = new PostFeedResponse[Math.max(0, capacity)];
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (slots.length == 0) {
+            return;
+        }
+        for (int attempt = 1; attempt <= LOAD_ATTEMPTS; attempt++) {
+            long changesBefore = changeCount();
+            List<PostFeedResponse> newest = postRepository.findFeedFirstPage(Limit.of(slots.length));
+            synchronized (this) {
+                if (changes != changesBefore) {
+                    // a post changed while loading; its event may be missing from the result
+                    continue;
+                }
+                head = 0;
+                size = newest.size();
+                complete = newest.size() < slots.length;
+                for (int i = 0; i < slots.length; i++) {
+                    slots[i] = i < size ? newest.get(i) : null;
+                }
+                ready = true;
+            }
+            log.info("Recent posts buffer loaded {} posts", newest.size());
+            return;
+        }
+        log.warn("Recent posts buffer could not be loaded, the feed is served from the database");
+    }
+
+    /**
+     * The newest {@code limit} posts, or null when the buffer cannot answer and the caller should query.
+     */
+    public synchronized List<PostFeedResponse> firstPage(int limit) {
+        if (!ready || (limit > size && !complete)) {
+            return null;
+        }
+        int count = Math.min(limit, size);
+        List<PostFeedResponse> page = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            page.add(slot(i));
+        }
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPostChanged(PostChangedEvent event) {
+        changes++;
+        removeIf(post -> post.id().equals(event.postId()));
+        if (!event.isDeleted()) {
+            insert(event.after());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPropertyChanged(PropertyChangedEvent event) {
+        changes++;
+        Long propertyId = event.propertyId();
+        // a deactivated property is waiting to be purged; the feed query no longer returns its posts
+        if (event.isDeleted() || !event.after().isActive()) {
+            removeIf(post -> post.propertyId().equals(propertyId));
+            return;
+        }
+        PropertySnapshot before = event.before();
+        String name = event.after().name();
+        if (before != null && !Objects.equals(before.name(), name)) {
+            replaceIf(post -> post.propertyId().equals(propertyId),
+                    post -> new PostFeedResponse(post.id(), post.userId(), post.username(), post.propertyId(),
+                            name, post.createdAt()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        changes++;
+        replaceIf(post -> post.userId().equals(event.userId()),
+                post -> new PostFeedResponse(post.id(), post.userId(), event.username(), post.propertyId(),
+                        post.propertyName(), post.createdAt()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPurgeRequested(PurgeRequestedEvent event) {
+        changes++;
+        if (event.target() == PurgeTarget.USER) {
+            removeIf(post -> post.userId().equals(event.id()));
+        } else {
+            removeIf(post -> post.propertyId().equals(event.id()));
+        }
+    }
+
+    private synchronized long changeCount() {
+        return changes;
+    }
+
+    // i-th newest post; callers hold the monitor
+    private PostFeedResponse slot(int i) {
+        return slots[(head + i) % slots.length];
+    }
+
+    private void insert(PostFeedResponse post) {
+        if (!ready || slots.length == 0) {
+            return;
+        }
+        // position of the post in feed order; usually 0 because new posts are the newest
+        int position = 0;
+        while (position < size && FEED_ORDER.compare(slot(position), post) < 0) {
+            position++;
+        }
+        if (position == size && (!complete || size == slots.length)) {
+            // older than everything held and there is no room for it: not part of the window
+            complete = complete && size < slots.length;
+            return;
+        }
+        if (position == 0) {
+            head = (head - 1 + slots.length) % slots.length;
+            slots[head] = post;
+        } else {
+            // shift the older part one slot towards the tail; the oldest slot falls off when full
+            int last = Math.min(size, slots.length - 1);
+            for (int i = last; i > position; i--) {
+                slots[(head + i) % slots.length] = slot(i - 1);
+            }
+            slots[(head + position) % slots.length] = post;
+        }
+        if (size < slots.length) {
+            size++;
+        } else {
+            complete = false;
+        }
+    }
+
+    private void removeIf(Predicate<PostFeedResponse> predicate) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            PostFeedResponse post = slot(i);
+            if (!predicate.test(post)) {
+                slots[(head + kept++) % slots.length] = post;
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            slots[(head + i) % slots.length] = null;
+        }
+        size = kept;
+    }
+
+    private void replaceIf(Predicate<PostFeedResponse> predicate, UnaryOperator<PostFeedResponse> replacement) {
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % slots.length;
+            if (predicate.test(slots[index])) {
+                slots[index] = replacement.apply(slots[index]);
+            }
+        }
+    }
+}
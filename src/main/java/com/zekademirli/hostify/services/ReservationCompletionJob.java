@@ -0,0 +1,121 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.ReservationStay;
+import com.zekademirli.hostify.enums.ReservationStatus;
+import com.zekademirli.hostify.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves CONFIRMED reservations whose check-out date has passed to COMPLETED. Rows are walked in
+ * (check-out date, id) order, the order of the status/check-out index, and updated in fixed-size chunks, each in its own short transaction, so even a large backlog never holds
+ * row locks for long.
+ */
+@Slf4j
+@Service
+public class ReservationCompletionJob {
+
+    private final ReservationRepository reservationRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final boolean catchUp;
+    private final long catchUpPauseMillis;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReservationCompletionJob(ReservationRepository reservationRepository,
+                                    AvailabilityIndex availabilityIndex,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${hostify.reservations.completion.chunk-size:500}") int chunkSize,
+                                    @Value("${hostify.reservations.completion.max-chunks-per-run:200}") int maxChunksPerRun,
+                                    @Value("${hostify.reservations.completion.catch-up:false}") boolean catchUp,
+                                    @Value("${hostify.reservations.completion.catch-up-pause-ms:50}") long catchUpPauseMillis) {
+        this.reservationRepository = reservationRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.catchUp = catchUp;
+        this.catchUpPauseMillis = catchUpPauseMillis;
+    }
+
+    @Scheduled(cron = "${hostify.reservations.completion.cron:0 5 * * * *}")
+    public void completeFinishedStays() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Reservation completion is already running, skipping");
+            return;
+        }
+        try {
+            run(LocalDate.now());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void run(LocalDate today) {
+        long started = System.nanoTime();
+        // no stay ends before the epoch; LocalDate.MIN is outside the range Postgres dates can bind
+        LocalDate afterDate = LocalDate.EPOCH;
+        long afterId = 0;
+        long completed = 0;
+        int chunks = 0;
+
+        while (catchUp || chunks < maxChunksPerRun) {
+            LocalDate lastDate = afterDate;
+            long lastId = afterId;
+            Chunk chunk = transactionTemplate.execute(status -> completeChunk(today, lastDate, lastId));
+            if (chunk == null || chunk.stays().isEmpty()) {
+                break;
+            }
+            ReservationStay last = chunk.stays().get(chunk.stays().size() - 1);
+            afterDate = last.checkOutDate();
+            afterId = last.id();
+            completed += chunk.updated();
+            chunks++;
+            if (catchUp && !pause()) {
+                break;
+            }
+        }
+
+        int evicted = availabilityIndex.evictStaysEndingBefore(today);
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Completed {} reservations in {} chunks in {} ms ({} rows/s), evicted {} stays from the availability index",
+                completed, chunks, elapsedMillis, completed * 1000 / elapsedMillis, evicted);
+    }
+
+    private Chunk completeChunk(LocalDate today, LocalDate afterDate, long afterId) {
+        List<ReservationStay> stays = reservationRepository.findStaysByStatusAndCheckOutDateNotAfter(
+                ReservationStatus.CONFIRMED, today, afterDate, afterId, Limit.of(chunkSize));
+        if (stays.isEmpty()) {
+            return new Chunk(stays, 0);
+        }
+        List<Long> ids = stays.stream().map(ReservationStay::id).toList();
+        int updated = reservationRepository.updateStatusByIdIn(
+                ids, ReservationStatus.CONFIRMED, ReservationStatus.COMPLETED, LocalDateTime.now());
+        return new Chunk(stays, updated);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(catchUpPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Chunk(List<ReservationStay> stays, int updated) {
+    }
+}
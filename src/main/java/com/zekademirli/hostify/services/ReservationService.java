@@ -1,9 +1,18 @@
 package com.zekademirli.hostify.services;
 
+import com.zekademirli.hostify.dto.projection.PropertySummary;
+import com.zekademirli.hostify.dto.projection.ReservationFingerprint;
+import com.zekademirli.hostify.dto.projection.ReservationStay;
+import com.zekademirli.hostify.dto.projection.ReservationView;
+import com.zekademirli.hostify.dto.request.BatchReservationRequest;
+import com.zekademirli.hostify.dto.request.KeysetCursor;
+import com.zekademirli.hostify.dto.response.BatchReservationResponse;
+import com.zekademirli.hostify.dto.response.CursorPage;
 import com.zekademirli.hostify.dto.response.ReservationResponse;
 import com.zekademirli.hostify.entities.Property;
 import com.zekademirli.hostify.entities.Reservation;
 import com.zekademirli.hostify.entities.User;
+import com.zekademirli.hostify.enums.BatchMode;
 import com.zekademirli.hostify.enums.ReservationStatus;
 import com.zekademirli.hostify.exceptions.BadRequestException;
 import com.zekademirli.hostify.exceptions.ResourceNotFoundException;
@@ -11,22 +20,41 @@ import com.zekademirli.hostify.exceptions.UnauthorizedException;
 import com.zekademirli.hostify.repository.ReservationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReservationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 200;
+
     private final ReservationRepository reservationRepository;
     private final PropertyService propertyService;
     private final UserService userService;
+    private final AvailabilityIndex availabilityIndex;
+    private final BookingLocks bookingLocks;
+    private final PendingHoldExpiry pendingHoldExpiry;
+    private final OptimisticRetry optimisticRetry;
+    private final PricingEngine pricingEngine;
 
     @Transactional
     public ReservationResponse createReservation(Long userId, Long propertyId,
@@ -35,27 +63,148 @@ public class ReservationService {
         validateCreateReservationInput(userId, propertyId, checkIn, checkOut);
 
         User user = userService.getOneUser(userId);
-        Property property = propertyService.getOneProperty(propertyId);
+        PropertySummary property = propertyService.getPropertySummary(propertyId);
+        if (!Boolean.TRUE.equals(property.active()) || !Boolean.TRUE.equals(user.getIsActive())) {
+            throw new BadRequestException("Property or user is no longer active");
+        }
 
         LocalDate checkInDate = parseDate(checkIn, "check-in");
         LocalDate checkOutDate = parseDate(checkOut, "check-out");
 
         validateDates(checkInDate, checkOutDate);
 
-        checkAvailability(property, checkInDate, checkOutDate);
+        bookingLocks.lockUntilCompletion(propertyId);
+        checkAvailability(propertyId, checkInDate, checkOutDate);
 
-        Reservation reservation = buildReservation(user, property, checkInDate, checkOutDate);
+        Reservation reservation = buildReservation(user, propertyService.getPropertyReference(propertyId),
+                property.pricePerNight(), checkInDate, checkOutDate);
 
         log.info("Creating reservation for user {} and property {}", userId, propertyId);
         Reservation savedReservation = reservationRepository.save(reservation);
-
-        return toReservationResponse(savedReservation);
+        afterCommit(() -> {
+            availabilityIndex.add(propertyId, savedReservation.getId(), checkInDate, checkOutDate);
+            pendingHoldExpiry.track(savedReservation.getId(), propertyId, savedReservation.getCreatedAt());
+        });
+
+        // built from the summary so the property proxy is never initialized
+        return toReservationResponse(new ReservationView(
+                savedReservation.getId(),
+                checkInDate,
+                checkOutDate,
+                savedReservation.getTotalPrice(),
+                savedReservation.getStatus(),
+                savedReservation.getCreatedAt(),
+                savedReservation.getUpdatedAt(),
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                property.id(),
+                property.name(),
+                property.pricePerNight()
+        ));
     }
 
     @Transactional
+    public BatchReservationResponse createReservations(BatchReservationRequest request) {
+        if (request == null || request.stays() == null || request.stays().isEmpty()) {
+            throw new BadRequestException("At least one stay is required");
+        }
+        if (request.stays().size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch cannot contain more than " + MAX_BATCH_SIZE + " stays");
+        }
+        BatchMode mode = request.mode() == null ? BatchMode.ALL_OR_NOTHING : request.mode();
+        List<BatchReservationRequest.Stay> stays = request.stays();
+        List<BatchReservationResponse.ItemError> errors = new ArrayList<>();
+
+        ParsedStay[] parsed = new ParsedStay[stays.size()];
+        for (int i = 0; i < stays.size(); i++) {
+            BatchReservationRequest.Stay stay = stays.get(i);
+            try {
+                validateCreateReservationInput(stay.userId(), stay.propertyId(), stay.checkIn(), stay.checkOut());
+                LocalDate checkInDate = parseDate(stay.checkIn(), "check-in");
+                LocalDate checkOutDate = parseDate(stay.checkOut(), "check-out");
+                validateDates(checkInDate, checkOutDate);
+                parsed[i] = new ParsedStay(stay.userId(), stay.propertyId(), checkInDate, checkOutDate);
+            } catch (BadRequestException e) {
+                errors.add(new BatchReservationResponse.ItemError(i, e.getMessage()));
+            }
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> propertyIds = new HashSet<>();
+        for (ParsedStay stay : parsed) {
+            if (stay != null) {
+                userIds.add(stay.userId());
+                propertyIds.add(stay.propertyId());
+            }
+        }
+        Map<Long, User> users = userService.getUsersByIds(userIds);
+        Map<Long, Property> properties = propertyService.getPropertiesByIds(propertyIds);
+
+        bookingLocks.lockAllUntilCompletion(properties.keySet());
+        Map<Long, NightCalendar> booked = loadBookedNights(parsed, properties.keySet());
+
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < parsed.length; i++) {
+            ParsedStay stay = parsed[i];
+            if (stay == null) {
+                continue;
+            }
+            User user = users.get(stay.userId());
+            Property property = properties.get(stay.propertyId());
+            if (user == null || property == null) {
+                String message = user == null
+                        ? "User not found ID: " + stay.userId()
+                        : "Property not found ID: " + stay.propertyId();
+                errors.add(new BatchReservationResponse.ItemError(i, message));
+                continue;
+            }
+            if (!property.isActive() || !Boolean.TRUE.equals(user.getIsActive())) {
+                errors.add(new BatchReservationResponse.ItemError(i, "Property or user is no longer active"));
+                continue;
+            }
+            long fromDay = stay.checkIn().toEpochDay();
+            long toDay = stay.checkOut().toEpochDay();
+            NightCalendar calendar = booked.computeIfAbsent(stay.propertyId(), id -> new NightCalendar());
+            if (!calendar.isFree(fromDay, toDay) || !availabilityIndex.isFree(stay.propertyId(), fromDay, toDay)) {
+                errors.add(new BatchReservationResponse.ItemError(i, "Property is not available for selected dates"));
+                continue;
+            }
+            calendar.add(-(i + 1L), fromDay, toDay);
+            reservations.add(buildReservation(user, property, property.getPricePerNight(),
+                    stay.checkIn(), stay.checkOut()));
+        }
+        errors.sort(Comparator.comparingInt(BatchReservationResponse.ItemError::index));
+
+        if (!errors.isEmpty() && mode == BatchMode.ALL_OR_NOTHING) {
+            log.info("Rejected batch of {} stays with {} errors", stays.size(), errors.size());
+            return new BatchReservationResponse(mode, List.of(), errors);
+        }
+
+        List<Reservation> savedReservations = reservationRepository.saveAll(reservations);
+        afterCommit(() -> savedReservations.forEach(reservation -> {
+            Long propertyId = reservation.getProperty().getId();
+            availabilityIndex.add(propertyId, reservation.getId(), reservation.getCheckInDate(), reservation.getCheckOutDate());
+            pendingHoldExpiry.track(reservation.getId(), propertyId, reservation.getCreatedAt());
+        }));
+        log.info("Created {} of {} reservations in batch", savedReservations.size(), stays.size());
+
+        return new BatchReservationResponse(mode,
+                savedReservations.stream().map(this::toReservationResponse).toList(), errors);
+    }
+
     public ReservationResponse cancelReservation(Long reservationId, Long userId) {
         validateCancelInput(reservationId, userId);
+        return optimisticRetry.execute("cancel reservation " + reservationId, () -> cancel(reservationId, userId));
+    }
 
+    public ReservationResponse confirmReservation(Long reservationId, Long hostId) {
+        validateInput(reservationId, "Reservation ID");
+        validateInput(hostId, "Host ID");
+        return optimisticRetry.execute("confirm reservation " + reservationId, () -> confirm(reservationId, hostId));
+    }
+
+    private ReservationResponse cancel(Long reservationId, Long userId) {
         Reservation reservation = findReservationById(reservationId);
 
         validateCancellationRights(reservation, userId);
@@ -66,14 +215,15 @@ public class ReservationService {
 
         log.info("Cancelled reservation {} by user {}", reservationId, userId);
         Reservation canceledReservation = reservationRepository.save(reservation);
+        Long propertyId = reservation.getProperty().getId();
+        afterCommit(() -> {
+            pendingHoldExpiry.untrack(reservationId);
+            availabilityIndex.remove(propertyId, reservationId);
+        });
         return toReservationResponse(canceledReservation);
     }
 
-    @Transactional
-    public ReservationResponse confirmReservation(Long reservationId, Long hostId) {
-        validateInput(reservationId, "Reservation ID");
-        validateInput(hostId, "Host ID");
-
+    private ReservationResponse confirm(Long reservationId, Long hostId) {
         Reservation reservation = findReservationById(reservationId);
 
         if (!reservation.getProperty().getOwner().getId().equals(hostId)) {
@@ -88,14 +238,45 @@ public class ReservationService {
 
         log.info("Confirmed reservation {} by host {}", reservationId, hostId);
         Reservation confirmedReservation = reservationRepository.save(reservation);
+        Long propertyId = reservation.getProperty().getId();
+        LocalDate checkInDate = reservation.getCheckInDate();
+        LocalDate checkOutDate = reservation.getCheckOutDate();
+        afterCommit(() -> {
+            pendingHoldExpiry.untrack(reservationId);
+            availabilityIndex.add(propertyId, reservationId, checkInDate, checkOutDate);
+        });
         return toReservationResponse(confirmedReservation);
     }
 
+    /**
+     * ETag and Last-Modified covering every reservation of the user, from one aggregate query instead of
+     * loading the list.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getUserReservationsVersion(Long userId) {
+        validateInput(userId, "User ID");
+        userService.getOneUser(userId);
+        return toResourceVersion("user-" + userId, reservationRepository.findFingerprintByUserId(userId));
+    }
+
+    /**
+     * Same as {@link #getUserReservationsVersion} for a property; {@code hostId} is checked when given.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getPropertyReservationsVersion(Long propertyId, Long hostId) {
+        validateInput(propertyId, "Property ID");
+        PropertySummary property = propertyService.getPropertySummary(propertyId);
+        if (hostId != null && !property.ownerId().equals(hostId)) {
+            throw new UnauthorizedException("You can only view reservations for your own properties");
+        }
+        return toResourceVersion("property-" + propertyId, reservationRepository.findFingerprintByPropertyId(propertyId));
+    }
+
     @Transactional(readOnly = true)
     public List<ReservationResponse> getReservationsByUser(Long userId) {
         validateInput(userId, "User ID");
         userService.getOneUser(userId);
-        List<Reservation> reservationList = reservationRepository.findByUserIdOrderByCheckInDateDesc(userId);
+        List<ReservationView> reservationList = reservationRepository.findViewsByUserId(userId);
         return reservationList.stream()
                 .map(this::toReservationResponse)
                 .toList();
@@ -106,25 +287,67 @@ public class ReservationService {
         validateInput(propertyId, "Property ID");
         validateInput(hostId, "Host ID");
 
-        Property property = propertyService.getOneProperty(propertyId);
+        PropertySummary property = propertyService.getPropertySummary(propertyId);
 
-        if (!property.getOwner().getId().equals(hostId)) {
+        if (!property.ownerId().equals(hostId)) {
             throw new UnauthorizedException("You can only view reservations for your own properties");
         }
 
-        List<Reservation> reservationList = reservationRepository.findByPropertyIdOrderByCheckInDateDesc(propertyId);
+        List<ReservationView> reservationList = reservationRepository.findViewsByPropertyId(propertyId);
         return reservationList.stream()
                 .map(this::toReservationResponse)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponse> getReservationsByUser(Long userId, String cursor, int size) {
+        validateInput(userId, "User ID");
+        validatePageSize(size);
+        userService.getOneUser(userId);
+
+        Limit limit = Limit.of(size + 1);
+        List<ReservationView> reservationList;
+        if (cursor == null) {
+            reservationList = reservationRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            reservationList = reservationRepository.findPageByUserIdAfter(
+                    userId, parseCursorDate(position), position.id(), limit);
+        }
+        return toCursorPage(reservationList, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponse> getReservationsByProperty(Long propertyId, Long hostId,
+                                                                     String cursor, int size) {
+        validateInput(propertyId, "Property ID");
+        validateInput(hostId, "Host ID");
+        validatePageSize(size);
+
+        PropertySummary property = propertyService.getPropertySummary(propertyId);
+
+        if (!property.ownerId().equals(hostId)) {
+            throw new UnauthorizedException("You can only view reservations for your own properties");
+        }
+
+        Limit limit = Limit.of(size + 1);
+        List<ReservationView> reservationList;
+        if (cursor == null) {
+            reservationList = reservationRepository.findFirstPageByPropertyId(propertyId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            reservationList = reservationRepository.findPageByPropertyIdAfter(
+                    propertyId, parseCursorDate(position), position.id(), limit);
+        }
+        return toCursorPage(reservationList, size);
+    }
+
     @Transactional(readOnly = true)
     public List<ReservationResponse> getActiveReservationsByProperty(Long propertyId) {
         validateInput(propertyId, "Property ID");
-        propertyService.getOneProperty(propertyId);
-        List<Reservation> reservationList = reservationRepository.findByPropertyIdAndStatusIn(
-                propertyId,
-                List.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED)
+        propertyService.getPropertySummary(propertyId);
+        List<ReservationView> reservationList = reservationRepository.findViewsByPropertyIdAndStatusIn(
+                propertyId, AvailabilityIndex.BLOCKING_STATUSES
         );
 
         return reservationList.stream()
@@ -154,6 +377,31 @@ public class ReservationService {
     }
 
 
+    private void validatePageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private LocalDate parseCursorDate(KeysetCursor cursor) {
+        try {
+            return LocalDate.parse(cursor.sortKey());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private CursorPage<ReservationResponse> toCursorPage(List<ReservationView> reservationList, int size) {
+        boolean hasNext = reservationList.size() > size;
+        List<ReservationView> page = hasNext ? reservationList.subList(0, size) : reservationList;
+        String nextCursor = null;
+        if (hasNext) {
+            ReservationView last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.checkInDate().toString(), last.id()).encode();
+        }
+        return CursorPage.of(page.stream().map(this::toReservationResponse).toList(), nextCursor);
+    }
+
     private Reservation findReservationById(Long reservationId) {
         return reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + reservationId));
@@ -183,10 +431,14 @@ public class ReservationService {
         }
     }
 
-    private void checkAvailability(Property property, LocalDate checkIn, LocalDate checkOut) {
+    private void checkAvailability(Long propertyId, LocalDate checkIn, LocalDate checkOut) {
+        if (availabilityIndex.isReady() && !availabilityIndex.isFree(propertyId, checkIn, checkOut)) {
+            throw new BadRequestException("Property is not available for selected dates");
+        }
+
+        // final guard: the index only sees committed changes of this instance
         boolean exists = reservationRepository.existsByPropertyIdAndCheckInDateLessThanAndCheckOutDateGreaterThanAndStatusIn(
-                property.getId(), checkOut, checkIn,
-                List.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED)
+                propertyId, checkOut, checkIn, AvailabilityIndex.BLOCKING_STATUSES
         );
 
         if (exists) {
@@ -194,6 +446,54 @@ public class ReservationService {
         }
     }
 
+    private Map<Long, NightCalendar> loadBookedNights(ParsedStay[] stays, Set<Long> propertyIds) {
+        Map<Long, NightCalendar> booked = new HashMap<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (ParsedStay stay : stays) {
+            if (stay != null) {
+                from = from == null || stay.checkIn().isBefore(from) ? stay.checkIn() : from;
+                to = to == null || stay.checkOut().isAfter(to) ? stay.checkOut() : to;
+            }
+        }
+        if (from == null || propertyIds.isEmpty()) {
+            return booked;
+        }
+        // one query as the final guard for every property in the batch
+        List<ReservationStay> existing = reservationRepository.findStaysOverlapping(
+                propertyIds, AvailabilityIndex.BLOCKING_STATUSES, from, to);
+        for (ReservationStay stay : existing) {
+            booked.computeIfAbsent(stay.propertyId(), id -> new NightCalendar())
+                    .add(stay.id(), stay.checkInDate().toEpochDay(), stay.checkOutDate().toEpochDay());
+        }
+        return booked;
+    }
+
+    // the ids are part of the tag: swapping one version-0 row for another leaves every count and version sum as is,
+    // and with If-None-Match present only the tag is compared
+    private static ResourceVersion toResourceVersion(String scope, ReservationFingerprint fingerprint) {
+        LocalDateTime lastModified = fingerprint.lastModified();
+        String tag = "reservations-" + scope + "-" + fingerprint.count() + "-" + fingerprint.idSum()
+                + "-" + fingerprint.maxId() + "-" + fingerprint.versionSum()
+                + "-" + fingerprint.propertyVersionSum() + "-" + fingerprint.userVersionSum()
+                + "-" + (lastModified == null ? 0
+                        : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        return ResourceVersion.of(tag, fingerprint.lastModified());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private void validateCancellationRights(Reservation reservation, Long userId) {
         if (!reservation.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You can only cancel your own reservations");
@@ -208,6 +508,10 @@ public class ReservationService {
         if (reservation.getStatus() == ReservationStatus.COMPLETED) {
             throw new BadRequestException("Cannot cancel completed reservations");
         }
+
+        if (reservation.getStatus() == ReservationStatus.EXPIRED) {
+            throw new BadRequestException("Reservation hold has already expired");
+        }
     }
 
     private void validateCancellationTiming(Reservation reservation) {
@@ -219,49 +523,65 @@ public class ReservationService {
         }
     }
 
-    private Reservation buildReservation(User user, Property property,
+    private Reservation buildReservation(User user, Property property, Double pricePerNight,
                                          LocalDate checkIn, LocalDate checkOut) {
-        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
-        double totalPrice = calculateTotalPrice(property, nights);
+        PricingEngine.Quote quote = pricingEngine.quote(property.getId(), pricePerNight, checkIn, checkOut);
 
         return Reservation.builder()
                 .user(user)
                 .property(property)
                 .checkInDate(checkIn)
                 .checkOutDate(checkOut)
-                .totalPrice(totalPrice)
+                .totalPrice(PricingEngine.fromMinor(quote.totalMinor()))
                 .status(ReservationStatus.PENDING)
 
                 .build();
     }
 
-    private double calculateTotalPrice(Property property, long nights) {
-        double basePrice = nights * property.getPricePerNight();
-
-        double serviceFee = basePrice * 0.1;
-
-        return basePrice + serviceFee;
+    public ReservationResponse toReservationResponse(Reservation reservation) {
+        User user = reservation.getUser();
+        Property property = reservation.getProperty();
+        return toReservationResponse(new ReservationView(
+                reservation.getId(),
+                reservation.getCheckInDate(),
+                reservation.getCheckOutDate(),
+                reservation.getTotalPrice(),
+                reservation.getStatus(),
+                reservation.getCreatedAt(),
+                reservation.getUpdatedAt(),
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                property.getId(),
+                property.getName(),
+                property.getPricePerNight()
+        ));
     }
 
-    public ReservationResponse toReservationResponse(Reservation reservation) {
+    public ReservationResponse toReservationResponse(ReservationView view) {
         ReservationResponse response = new ReservationResponse();
-        response.setId(reservation.getId());
-        response.setCheckInDate(reservation.getCheckInDate());
-        response.setCheckOutDate(reservation.getCheckOutDate());
-        response.setTotalPrice(reservation.getTotalPrice());
-        response.setStatus(response.getStatus());
-        response.setCreatedAt(reservation.getCreatedAt());
-        response.setUpdatedAt(reservation.getUpdatedAt());
+        response.setId(view.id());
+        response.setCheckInDate(view.checkInDate());
+        response.setCheckOutDate(view.checkOutDate());
+        response.setTotalPrice(view.totalPrice());
+        response.setStatus(view.status().name());
+        response.setCreatedAt(view.createdAt());
+        response.setUpdatedAt(view.updatedAt());
 
         ReservationResponse.UserSummary userSummary = new ReservationResponse.UserSummary();
-        userSummary.setId(reservation.getUser().getId());
-        userSummary.setName(reservation.getUser().getUsername());
-        userSummary.setEmail(reservation.getUser().getEmail());
+        userSummary.setId(view.userId());
+        userSummary.setName(view.username());
+        userSummary.setEmail(view.email());
+        response.setUser(userSummary);
 
         ReservationResponse.PropertySummary propertySummary = new ReservationResponse.PropertySummary();
-        propertySummary.setId(reservation.getProperty().getId());
-        propertySummary.setTitle(reservation.getProperty().getName());
-        propertySummary.setPricePerNight(reservation.getProperty().getPricePerNight());
+        propertySummary.setId(view.propertyId());
+        propertySummary.setTitle(view.propertyName());
+        propertySummary.setPricePerNight(view.pricePerNight());
+        response.setProperty(propertySummary);
         return response;
     }
-}
\ No newline at end of file
+
+    private record ParsedStay(Long userId, Long propertyId, LocalDate checkIn, LocalDate checkOut) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.zekademirli.hostify.services;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for a conditional GET: a strong ETag and the Last-Modified time in epoch millis, or -1 when
+ * there is nothing to date.
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    static ResourceVersion of(String tag, LocalDateTime updatedAt) {
+        long lastModified = updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ResourceVersion("\"" + tag + "\"", lastModified);
+    }
+
+    /**
+     * Same validators for another representation of the resource, e.g. a different page of a list.
+     */
+    public ResourceVersion withVariant(String variant) {
+        String tag = etag.substring(1, etag.length() - 1) + "-" + Integer.toHexString(variant.hashCode());
+        return new ResourceVersion("\"" + tag + "\"", lastModified);
+    }
+}
@@ -3,24 +3,36 @@ package com.zekademirli.hostify.services;
 import com.zekademirli.hostify.dto.request.UserRequest;
 import com.zekademirli.hostify.dto.response.UserResponse;
 import com.zekademirli.hostify.entities.User;
+import com.zekademirli.hostify.enums.PurgeTarget;
+import com.zekademirli.hostify.events.PurgeRequestedEvent;
+import com.zekademirli.hostify.events.UserChangedEvent;
 import com.zekademirli.hostify.exceptions.ResourceNotFoundException;
 import com.zekademirli.hostify.repository.UserRepository;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 public class UserService {
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, ModelMapper modelMapper) {
+    public UserService(UserRepository userRepository, ModelMapper modelMapper, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.modelMapper = modelMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
@@ -52,26 +64,36 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found ID: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public Map<Long, User> getUsersByIds(Collection<Long> ids) {
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
     @Transactional
     public UserResponse updateUser(UserRequest userRequest, Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found ID: " + id));
         modelMapper.map(userRequest, user);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
         return modelMapper.map(user, UserResponse.class);
     }
 
+    /**
+     * Deactivates the user and queues the purge of the account and everything it owns once this commits.
+     */
     @Transactional
     public void deleteUser(Long id) {
         log.info("Deleting user with id: {} ", id);
-        try {
-            User user = userRepository.findById(id)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
-            userRepository.delete(user);
-            log.info("Deleted user with id: {} ", id);
-        } catch (ResourceNotFoundException e) {
-            log.error("Error occurred while deleting user with ID: {} ", id, e);
+        if (user.getDeletionRequestedAt() == null) {
+            user.setIsActive(false);
+            user.setDeletionRequestedAt(LocalDateTime.now());
         }
+        eventPublisher.publishEvent(new PurgeRequestedEvent(PurgeTarget.USER, id));
+        log.info("Deactivated user with id: {}, purge queued", id);
     }
 }
\ No newline at end of file
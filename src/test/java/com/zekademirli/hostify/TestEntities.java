@@ -0,0 +1,42 @@
+package com.zekademirli.hostify;
+
+import com.zekademirli.hostify.entities.Property;
+import com.zekademirli.hostify.entities.User;
+import com.zekademirli.hostify.enums.Role;
+import com.zekademirli.hostify.enums.RoomCategory;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Unsaved entities with unique names, so tests sharing one database never collide.
+ */
+public final class TestEntities {
+
+    private TestEntities() {
+    }
+
+    public static User user() {
+        String name = "user-" + UUID.randomUUID();
+        User user = new User();
+        user.setUsername(name);
+        user.setPassword("secret");
+        user.setEmail(name + "@example.com");
+        user.setFullName("Test User");
+        user.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    public static Property property(User owner, RoomCategory category, double pricePerNight) {
+        return Property.builder()
+                .name("Property " + UUID.randomUUID())
+                .description("Test property")
+                .address("1 Test Street")
+                .pricePerNight(pricePerNight)
+                .maxGuests(4)
+                .category(category)
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.zekademirli.hostify.controller;
+
+import com.zekademirli.hostify.TestEntities;
+import com.zekademirli.hostify.TestcontainersConfiguration;
+import com.zekademirli.hostify.entities.Property;
+import com.zekademirli.hostify.entities.User;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import com.zekademirli.hostify.repository.UserRepository;
+import com.zekademirli.hostify.services.ReservationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listings are read through projection queries, so the number of statements per request must not grow with
+ * the number of rows returned.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ListingQueryCountTest {
+
+    private static final int ROWS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private List<Property> properties;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(TestEntities.user());
+        properties = new ArrayList<>();
+        for (int i = 0; i < ROWS * 2; i++) {
+            properties.add(propertyRepository.save(TestEntities.property(owner, RoomCategory.FAMILY, 60 + i)));
+        }
+    }
+
+    @Test
+    void propertyPagesTakeOneStatementWhateverTheSize() throws Exception {
+        assertThat(statementsFor("/api/properties?size=2")).isEqualTo(1);
+        assertThat(statementsFor("/api/properties?size=20")).isEqualTo(1);
+        assertThat(statementsFor("/api/properties?size=20&minPrice=60&maxPrice=100")).isEqualTo(1);
+    }
+
+    @Test
+    void ownerAndCategoryListingsTakeAConstantNumberOfStatements() throws Exception {
+        long ownerSmall = statementsFor("/api/properties/owner/" + owner.getId() + "?size=2");
+        long ownerLarge = statementsFor("/api/properties/owner/" + owner.getId() + "?size=20");
+        assertThat(ownerLarge).isEqualTo(ownerSmall).isLessThanOrEqualTo(3);
+
+        long categorySmall = statementsFor("/api/properties/category/FAMILY?size=2");
+        long categoryLarge = statementsFor("/api/properties/category/FAMILY?size=20");
+        assertThat(categoryLarge).isEqualTo(categorySmall).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void reservationListingsDoNotLoadUsersOrPropertiesPerRow() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(40);
+
+        // one guest with a single reservation, one with a reservation on each of ROWS properties
+        User occasional = userRepository.save(TestEntities.user());
+        User frequent = userRepository.save(TestEntities.user());
+        book(occasional, properties.get(0), checkIn);
+        for (int i = 0; i < ROWS; i++) {
+            book(frequent, properties.get(i + 1), checkIn);
+        }
+        assertThat(statementsFor("/api/reservations/" + frequent.getId()))
+                .isEqualTo(statementsFor("/api/reservations/" + occasional.getId()));
+        assertThat(statementsFor("/api/reservations/user/" + frequent.getId() + "?size=20"))
+                .isEqualTo(statementsFor("/api/reservations/user/" + occasional.getId() + "?size=20"));
+
+        // one property booked once, one booked by ROWS different guests
+        Property quiet = properties.get(ROWS + 1);
+        Property busy = properties.get(ROWS + 2);
+        book(userRepository.save(TestEntities.user()), quiet, checkIn);
+        for (int i = 0; i < ROWS; i++) {
+            book(userRepository.save(TestEntities.user()), busy, checkIn.plusDays(2L * i));
+        }
+        assertThat(statementsFor("/api/reservations/get-property-reservation/" + busy.getId() + "?hostId=" + owner.getId()))
+                .isEqualTo(statementsFor("/api/reservations/get-property-reservation/" + quiet.getId() + "?hostId=" + owner.getId()));
+        assertThat(statementsFor("/api/reservations/property/" + busy.getId() + "/is-active"))
+                .isEqualTo(statementsFor("/api/reservations/property/" + quiet.getId() + "/is-active"));
+    }
+
+    // statements prepared by the second of two identical requests, so warm caches do not skew the count
+    private long statementsFor(String url) throws Exception {
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void book(User guest, Property property, LocalDate checkIn) {
+        reservationService.createReservation(guest.getId(), property.getId(), checkIn.toString(),
+                checkIn.plusDays(1).toString());
+    }
+}
@@ -0,0 +1,140 @@
+package com.zekademirli.hostify.controller;
+
+import com.zekademirli.hostify.TestEntities;
+import com.zekademirli.hostify.TestcontainersConfiguration;
+import com.zekademirli.hostify.entities.User;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Owner and category listings over 50k properties owned by one host. A page must cost the same whether it is
+ * the first or the last, and must not allocate in proportion to the owner's whole portfolio.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class PropertyListingBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyListingBenchmark.class);
+
+    private static final int PROPERTIES = 50_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 100;
+    // loading the whole portfolio with its collections allocates hundreds of megabytes per request
+    private static final long MAX_ALLOCATED_PER_REQUEST = 32L * 1024 * 1024;
+
+    private static final String INSERT_PROPERTY = "insert into \"property\" (id, name, description, address, " +
+            "price_per_night, max_guests, category, owner_id, is_active, created_at, updated_at) " +
+            "values (nextval('property_seq'), ?, 'Benchmark property', '1 Benchmark Street', ?, 4, ?, ?, true, ?, ?)";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(TestEntities.user());
+        RoomCategory[] categories = RoomCategory.values();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(PROPERTIES);
+        for (int i = 0; i < PROPERTIES; i++) {
+            rows.add(new Object[]{"Benchmark " + owner.getId() + "-" + i, 50.0 + i % 500,
+                    categories[i % categories.length].name(), owner.getId(), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_PROPERTY, rows);
+        jdbcTemplate.execute("analyze \"property\"");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from \"property\" where owner_id = ?", owner.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void ownerListing() throws Exception {
+        int lastPage = PROPERTIES / PAGE_SIZE - 1;
+        measure("owner, first page", "/api/properties/owner/" + owner.getId() + "?page=0&size=" + PAGE_SIZE);
+        measure("owner, last page", "/api/properties/owner/" + owner.getId() + "?page=" + lastPage + "&size=" + PAGE_SIZE);
+    }
+
+    @Test
+    void categoryListing() throws Exception {
+        measure("category, first page", "/api/properties/category/STANDARD?page=0&size=" + PAGE_SIZE);
+        measure("category, page 100", "/api/properties/category/STANDARD?page=100&size=" + PAGE_SIZE);
+    }
+
+    private void measure(String label, String url) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            request(url);
+        }
+        long[] nanos = new long[RUNS];
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            request(url);
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocatedPerRequest = (allocatedBytes() - allocatedBefore) / RUNS;
+        Arrays.sort(nanos);
+
+        log.info("{}: p50 {} ms, p95 {} ms, max {} ms, {} KiB allocated per request", label,
+                millis(nanos[RUNS / 2]), millis(nanos[RUNS * 95 / 100]), millis(nanos[RUNS - 1]),
+                allocatedPerRequest / 1024);
+        assertThat(allocatedPerRequest).as("bytes allocated per request for %s", label)
+                .isLessThan(MAX_ALLOCATED_PER_REQUEST);
+    }
+
+    private void request(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(PAGE_SIZE));
+    }
+
+    // MockMvc serves the request on the calling thread, so this thread's allocations are the request's
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Radius and box query latency against index size. Properties are clustered around a few hundred cities, as
+ * real listings are, so a query touches a handful of dense cells however large the index grows.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class PropertyGeoIndexBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyGeoIndexBenchmark.class);
+
+    private static final int CITIES = 500;
+    private static final int WARMUP = 2_000;
+    private static final int QUERIES = 5_000;
+
+    @ParameterizedTest(name = "{0} properties")
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void queryLatencyAgainstIndexSize(int properties) {
+        SplittableRandom random = new SplittableRandom(42);
+        double[][] cities = new double[CITIES][];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = new double[]{random.nextDouble(-60, 70), random.nextDouble(-180, 180)};
+        }
+        PropertyGeoIndex index = new PropertyGeoIndex(null, new Gazetteer(new ByteArrayResource(new byte[0])), 0.05);
+        RoomCategory[] categories = RoomCategory.values();
+        for (long id = 1; id <= properties; id++) {
+            double[] city = cities[random.nextInt(CITIES)];
+            double latitude = Math.max(-90, Math.min(90, city[0] + random.nextGaussian() * 0.2));
+            double longitude = wrap(city[1] + random.nextGaussian() * 0.2);
+            index.onPropertyChanged(new PropertyChangedEvent(null, new PropertySnapshot(id, 1L, "Property " + id,
+                    "", "", 100.0, 2, categories[(int) (id % categories.length)], true, latitude, longitude)));
+        }
+        assertThat(index.size()).isEqualTo(properties);
+
+        report(properties, "radius 5 km", () -> {
+            double[] city = cities[random.nextInt(CITIES)];
+            return index.withinRadius(new GeoPoint(city[0], city[1]), 5, null, 20).size();
+        });
+        report(properties, "radius 50 km", () -> {
+            double[] city = cities[random.nextInt(CITIES)];
+            return index.withinRadius(new GeoPoint(city[0], city[1]), 50, RoomCategory.STANDARD, 20).size();
+        });
+        report(properties, "box 0.2 deg", () -> {
+            double[] city = cities[random.nextInt(CITIES)];
+            return index.withinBox(city[0] - 0.1, Math.max(-180, city[1] - 0.1), city[0] + 0.1,
+                    Math.min(180, city[1] + 0.1), null, 100).size();
+        });
+    }
+
+    private static void report(int properties, String label, Query query) {
+        long found = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            found += query.run();
+        }
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            found += query.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        log.info("{} properties, {}: p50 {} us, p99 {} us, max {} us ({} hits)", properties, label,
+                nanos[QUERIES / 2] / 1_000, nanos[QUERIES * 99 / 100] / 1_000, nanos[QUERIES - 1] / 1_000, found);
+    }
+
+    private static double wrap(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        int run();
+    }
+}
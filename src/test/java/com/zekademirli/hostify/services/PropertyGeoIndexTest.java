@@ -0,0 +1,42 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.dto.projection.PropertySnapshot;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.events.PropertyChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyGeoIndexTest {
+
+    private final PropertyGeoIndex index =
+            new PropertyGeoIndex(null, new Gazetteer(new ByteArrayResource(new byte[0])), 0.05);
+
+    @Test
+    void radiusSearchWrapsAroundTheAntimeridian() {
+        add(1L, -17.8, 179.95);
+        add(2L, -17.8, -179.95);
+        add(3L, -17.8, 178.0);
+        // enough properties elsewhere that small searches walk the grid instead of scanning everything
+        for (long id = 100; id < 1_100; id++) {
+            add(id, 40 + id % 10 * 0.1, -3.0 + id / 10 * 0.01);
+        }
+
+        // Fiji straddles the antimeridian; both sides are about 10 km from a center on it
+        assertThat(ids(index.withinRadius(new GeoPoint(-17.8, 180.0), 20, null, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.withinRadius(new GeoPoint(-17.8, -179.99), 20, null, 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.withinRadius(new GeoPoint(-17.8, 179.99), 300, null, 10))).containsExactly(1L, 2L, 3L);
+    }
+
+    private void add(Long id, double latitude, double longitude) {
+        index.onPropertyChanged(new PropertyChangedEvent(null, new PropertySnapshot(id, 1L, "Property " + id, "",
+                "", 100.0, 2, RoomCategory.STANDARD, true, latitude, longitude)));
+    }
+
+    private static List<Long> ids(List<PropertyGeoIndex.Hit> hits) {
+        return hits.stream().map(PropertyGeoIndex.Hit::propertyId).toList();
+    }
+}
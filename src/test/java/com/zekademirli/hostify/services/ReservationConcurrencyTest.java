@@ -0,0 +1,218 @@
+package com.zekademirli.hostify.services;
+
+import com.zekademirli.hostify.TestEntities;
+import com.zekademirli.hostify.TestcontainersConfiguration;
+import com.zekademirli.hostify.dto.projection.ReservationStay;
+import com.zekademirli.hostify.entities.Property;
+import com.zekademirli.hostify.entities.User;
+import com.zekademirli.hostify.enums.RoomCategory;
+import com.zekademirli.hostify.exceptions.BadRequestException;
+import com.zekademirli.hostify.repository.PropertyRepository;
+import com.zekademirli.hostify.repository.ReservationRepository;
+import com.zekademirli.hostify.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ReservationConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private BookingLocks bookingLocks;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User host;
+    private List<User> guests;
+
+    @BeforeEach
+    void setUp() {
+        host = userRepository.save(TestEntities.user());
+        guests = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            guests.add(userRepository.save(TestEntities.user()));
+        }
+    }
+
+    @Test
+    void overlappingBookingsOnOnePropertyHaveExactlyOneWinner() throws Exception {
+        Property property = propertyRepository.save(TestEntities.property(host, RoomCategory.STANDARD, 100));
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+
+        List<Callable<Boolean>> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            User guest = guests.get(i);
+            // every stay contains the night after checkIn, so any two of them overlap
+            LocalDate from = checkIn.minusDays(i % 3);
+            LocalDate to = checkIn.plusDays(1 + i % 4);
+            bookings.add(() -> book(guest, property, from, to));
+        }
+
+        long winners = runTogether(bookings).stream().filter(Boolean::booleanValue).count();
+
+        assertThat(winners).isEqualTo(1);
+        assertThat(staysOf(property.getId())).hasSize(1);
+    }
+
+    @Test
+    void randomStaysUnderLoadNeverOverlap() throws Exception {
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            properties.add(propertyRepository.save(TestEntities.property(host, RoomCategory.DELUXE, 80)));
+        }
+        LocalDate start = LocalDate.now().plusDays(10);
+        AtomicInteger booked = new AtomicInteger();
+
+        List<Callable<Boolean>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            User guest = guests.get(t);
+            workers.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int attempt = 0; attempt < 20; attempt++) {
+                    Property property = properties.get(random.nextInt(properties.size()));
+                    LocalDate from = start.plusDays(random.nextInt(60));
+                    if (book(guest, property, from, from.plusDays(1 + random.nextInt(5)))) {
+                        booked.incrementAndGet();
+                    }
+                }
+                return true;
+            });
+        }
+        runTogether(workers);
+
+        int rows = 0;
+        for (Property property : properties) {
+            List<ReservationStay> stays = staysOf(property.getId());
+            rows += stays.size();
+            assertNoOverlap(stays);
+        }
+        assertThat(booked.get()).isPositive().isEqualTo(rows);
+    }
+
+    @Test
+    void bookingsOnDifferentPropertiesDoNotWaitForEachOther() throws Exception {
+        // consecutive ids fall on different lock stripes
+        Property held = propertyRepository.save(TestEntities.property(host, RoomCategory.SUITE, 150));
+        Property other = propertyRepository.save(TestEntities.property(host, RoomCategory.SUITE, 150));
+        LocalDate checkIn = LocalDate.now().plusDays(20);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            // a booking transaction on the first property that stays open until released
+            Future<?> holder = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bookingLocks.lockUntilCompletion(held.getId());
+                locked.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<Boolean> sameProperty = executor.submit(() -> book(guests.get(0), held, checkIn, checkIn.plusDays(2)));
+            Future<Boolean> otherProperty = executor.submit(() -> book(guests.get(1), other, checkIn, checkIn.plusDays(2)));
+
+            assertThat(otherProperty.get(10, TimeUnit.SECONDS)).isTrue();
+            assertThatThrownBy(() -> sameProperty.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            assertThat(sameProperty.get(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean book(User guest, Property property, LocalDate checkIn, LocalDate checkOut) {
+        try {
+            reservationService.createReservation(guest.getId(), property.getId(), checkIn.toString(), checkOut.toString());
+            return true;
+        } catch (BadRequestException e) {
+            return false;
+        }
+    }
+
+    private List<ReservationStay> staysOf(Long propertyId) {
+        return reservationRepository.findStaysOverlapping(List.of(propertyId), AvailabilityIndex.BLOCKING_STATUSES,
+                LocalDate.now(), LocalDate.now().plusYears(1));
+    }
+
+    private static void assertNoOverlap(List<ReservationStay> stays) {
+        List<ReservationStay> sorted = stays.stream()
+                .sorted(Comparator.comparing(ReservationStay::checkInDate))
+                .toList();
+        for (int i = 1; i < sorted.size(); i++) {
+            assertThat(sorted.get(i).checkInDate())
+                    .as("stay %d starts before stay %d ends", sorted.get(i).id(), sorted.get(i - 1).id())
+                    .isAfterOrEqualTo(sorted.get(i - 1).checkOutDate());
+        }
+    }
+
+    // starts every task at the same moment and returns their results in order
+    private static <T> List<T> runTogether(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}